@@ -0,0 +1,122 @@
+package com.hackathon.inditex.Config;
+
+/**
+ * Per-thread counters of the SQL work done by the current request or
+ * operation: statements executed, database round trips, rows fetched,
+ * Hibernate flushes and time spent in JDBC. Every statement of a JDBC batch
+ * counts as a statement, while the whole batch is a single round trip.
+ * Scopes nest; work is counted in the innermost scope and all enclosing ones.
+ */
+public final class SqlStatistics {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private SqlStatistics() {
+    }
+
+    /**
+     * Starts counting on the current thread until the returned scope is closed
+     *
+     * @return The new scope
+     */
+    public static Scope start() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void statementExecuted(long nanos) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements++;
+            scope.roundTrips++;
+            scope.jdbcNanos += nanos;
+        }
+    }
+
+    static void statementBatched() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements++;
+        }
+    }
+
+    static void batchExecuted(long nanos) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.roundTrips++;
+            scope.jdbcNanos += nanos;
+        }
+    }
+
+    static void rowFetched() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.rowsFetched++;
+        }
+    }
+
+    static void flushed() {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.flushes++;
+        }
+    }
+
+    /**
+     * Counters of one request or operation
+     */
+    public static class Scope implements AutoCloseable {
+        private final Scope parent;
+        private final long startedAt = System.nanoTime();
+        private long statements;
+        private long roundTrips;
+        private long rowsFetched;
+        private long flushes;
+        private long jdbcNanos;
+        private long elapsedNanos = -1;
+
+        Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public long getStatements() {
+            return statements;
+        }
+
+        public long getRoundTrips() {
+            return roundTrips;
+        }
+
+        public long getRowsFetched() {
+            return rowsFetched;
+        }
+
+        public long getFlushes() {
+            return flushes;
+        }
+
+        public long getJdbcNanos() {
+            return jdbcNanos;
+        }
+
+        /**
+         * Returns the time since the scope started, frozen once it is closed
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos >= 0 ? elapsedNanos : System.nanoTime() - startedAt;
+        }
+
+        /**
+         * Stops counting and restores the enclosing scope
+         */
+        @Override
+        public void close() {
+            if (elapsedNanos >= 0) {
+                return;
+            }
+
+            elapsedNanos = System.nanoTime() - startedAt;
+            if (parent != null) {
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
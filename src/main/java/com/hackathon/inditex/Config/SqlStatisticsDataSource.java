@@ -0,0 +1,140 @@
+package com.hackathon.inditex.Config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Data source proxy that counts executed statements, round trips, fetched
+ * rows and JDBC time into {@link SqlStatistics}.
+ * Connections, statements and result sets are wrapped in JDK proxies, so no
+ * extra dependency is needed.
+ */
+public class SqlStatisticsDataSource extends DelegatingDataSource {
+
+    public SqlStatisticsDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, super.getConnection(), new ConnectionHandler());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, super.getConnection(username, password), new ConnectionHandler());
+    }
+
+    /**
+     * Helper method to wrap a JDBC object in a counting proxy
+     */
+    private static <T> T wrap(Class<T> type, T target, DelegatingHandler handler) {
+        handler.target = target;
+        return type.cast(Proxy.newProxyInstance(SqlStatisticsDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Helper method to wrap a statement with the proxy matching its type
+     */
+    private static Object wrapStatement(Object statement) {
+        if (statement instanceof CallableStatement callableStatement) {
+            return wrap(CallableStatement.class, callableStatement, new StatementHandler());
+        }
+        if (statement instanceof PreparedStatement preparedStatement) {
+            return wrap(PreparedStatement.class, preparedStatement, new StatementHandler());
+        }
+        return wrap(Statement.class, (Statement) statement, new StatementHandler());
+    }
+
+    /**
+     * Base handler forwarding every call to the wrapped object
+     */
+    private abstract static class DelegatingHandler implements InvocationHandler {
+        Object target;
+
+        Object forward(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    /**
+     * Wraps the statements created by a connection
+     */
+    private static class ConnectionHandler extends DelegatingHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = forward(method, args);
+            if (result instanceof Statement) {
+                return wrapStatement(result);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Counts executions and wraps the result sets of a statement. Batched
+     * statements are counted when added and their batch as one round trip.
+     */
+    private static class StatementHandler extends DelegatingHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("addBatch".equals(name)) {
+                Object result = forward(method, args);
+                SqlStatistics.statementBatched();
+                return result;
+            }
+            if (!name.startsWith("execute")) {
+                Object result = forward(method, args);
+                return result instanceof ResultSet resultSet ? wrapResultSet(resultSet) : result;
+            }
+
+            boolean batch = "executeBatch".equals(name) || "executeLargeBatch".equals(name);
+            long start = System.nanoTime();
+            try {
+                Object result = forward(method, args);
+                return result instanceof ResultSet resultSet ? wrapResultSet(resultSet) : result;
+            } finally {
+                if (batch) {
+                    SqlStatistics.batchExecuted(System.nanoTime() - start);
+                } else {
+                    SqlStatistics.statementExecuted(System.nanoTime() - start);
+                }
+            }
+        }
+
+        private ResultSet wrapResultSet(ResultSet resultSet) {
+            return wrap(ResultSet.class, resultSet, new ResultSetHandler());
+        }
+    }
+
+    /**
+     * Counts the rows read from a result set
+     */
+    private static class ResultSetHandler extends DelegatingHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = forward(method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                SqlStatistics.rowFetched();
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.hackathon.inditex.Config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application data source in a {@link SqlStatisticsDataSource}.
+ */
+@Component
+@ConditionalOnProperty(name = "sql.statistics.enabled", havingValue = "true", matchIfMissing = false)
+public class SqlStatisticsDataSourcePostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof SqlStatisticsDataSource)) {
+            return new SqlStatisticsDataSource(dataSource);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,44 @@
+package com.hackathon.inditex.Config;
+
+import com.hackathon.inditex.Services.SqlStatisticsService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Filter that counts the SQL work of every request and records it in
+ * {@link SqlStatisticsService}.
+ * Requests are recorded under their route pattern rather than their URI, so
+ * path variables do not create a new operation per ID.
+ */
+@Component
+@ConditionalOnProperty(name = "sql.statistics.enabled", havingValue = "true", matchIfMissing = false)
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    // Operation name of requests no handler matched
+    private static final String UNMAPPED = "(unmapped)";
+
+    @Autowired
+    private SqlStatisticsService sqlStatisticsService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlStatistics.Scope scope = SqlStatistics.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            sqlStatisticsService.record(request.getMethod() + " " + (pattern != null ? pattern : UNMAPPED), scope);
+        }
+    }
+}
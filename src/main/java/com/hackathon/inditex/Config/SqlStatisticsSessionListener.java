@@ -0,0 +1,17 @@
+package com.hackathon.inditex.Config;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Hibernate session listener that counts flushes into {@link SqlStatistics}.
+ * Only full flushes are counted, not the partial auto-flushes Hibernate runs
+ * before queries. Registered for every session through
+ * hibernate.session.events.auto.
+ */
+public class SqlStatisticsSessionListener extends BaseSessionEventListener {
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        SqlStatistics.flushed();
+    }
+}
@@ -1,16 +1,18 @@
 package com.hackathon.inditex.Controllers;
 
+import com.hackathon.inditex.DTO.AvailabilitySummaryDTO;
 import com.hackathon.inditex.DTO.CenterDTO;
 import com.hackathon.inditex.DTO.CenterResponseDTO;
-import com.hackathon.inditex.Entities.Center;
+import com.hackathon.inditex.Services.AvailabilitySummaryService;
 import com.hackathon.inditex.Services.CenterService;
+import com.hackathon.inditex.Services.DataVersionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * Controller for managing logistics centers.
  * Provides endpoints for creating, reading, updating, and deleting centers.
@@ -22,6 +24,12 @@ public class CenterController {
     @Autowired
     private CenterService centerService;
 
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private AvailabilitySummaryService availabilitySummaryService;
+
     /**
      * Creates a new logistics center
      * 
@@ -42,13 +50,39 @@ public class CenterController {
 
     /**
      * Retrieves all logistics centers
+     * Answers 304 Not Modified without reading the database when the client
+     * already holds the current version.
      * 
-     * @return List of all centers
+     * @param ifNoneMatch The ETag of the copy held by the client, if any
+     * @return Serialized list of all centers
      */
     @GetMapping
-    public ResponseEntity<List<Center>> getAllCenters() {
-        List<Center> centers = centerService.getAllCenters();
-        return ResponseEntity.ok(centers);
+    public ResponseEntity<byte[]> getAllCenters(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        long version = dataVersionService.getCurrentVersion();
+        if (DataVersionService.matchesETag(ifNoneMatch, version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(DataVersionService.toETag(version))
+                    .build();
+        }
+
+        DataVersionService.VersionedBody centers = dataVersionService.getSerializedBody(
+                "centers", centerService::getAllCenters);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(centers.getETag())
+                .body(centers.getBody());
+    }
+
+    /**
+     * Retrieves the remaining capacity of available centers per size class and
+     * per geographic cell, without querying the database
+     * 
+     * @return Availability summary
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilitySummaryDTO> getAvailability() {
+        return ResponseEntity.ok(availabilitySummaryService.getSummary());
     }
 
     /**
@@ -0,0 +1,50 @@
+package com.hackathon.inditex.Controllers;
+
+import com.hackathon.inditex.DTO.ChangeFeedDTO;
+import com.hackathon.inditex.Services.AssignmentEventService;
+import com.hackathon.inditex.Services.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controller for the change feed.
+ * Provides an incremental endpoint for changed centers and orders and a
+ * Server-Sent Events stream of order assignments.
+ */
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeFeedController {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private AssignmentEventService assignmentEventService;
+
+    /**
+     * Retrieves the centers and orders changed after a cursor
+     * 
+     * @param since The cursor returned by the previous call, 0 for a full snapshot
+     * @return Changed centers and orders, deleted center IDs and the next cursor
+     */
+    @GetMapping
+    public ResponseEntity<ChangeFeedDTO> getChanges(@RequestParam(defaultValue = "0") long since) {
+        return ResponseEntity.ok(changeFeedService.getChangesSince(since));
+    }
+
+    /**
+     * Streams order assignment events as they are committed
+     * 
+     * @return Server-Sent Events stream of processed orders
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAssignments() {
+        return assignmentEventService.subscribe();
+    }
+}
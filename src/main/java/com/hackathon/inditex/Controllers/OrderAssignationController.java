@@ -1,12 +1,21 @@
 package com.hackathon.inditex.Controllers;
 
 import com.hackathon.inditex.DTO.AssignationResponseDTO;
+import com.hackathon.inditex.DTO.CenterOverrideDTO;
+import com.hackathon.inditex.DTO.DryRunRequestDTO;
+import com.hackathon.inditex.Services.CenterNotFoundException;
 import com.hackathon.inditex.Services.OrderService;
+import com.hackathon.inditex.Services.SqlStatisticsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
 
 /**
  * Controller for order assignation.
@@ -19,6 +28,9 @@ public class OrderAssignationController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private SqlStatisticsService sqlStatisticsService;
+
     /**
      * Assigns logistics centers to pending orders based on proximity and
      * availability.
@@ -28,7 +40,35 @@ public class OrderAssignationController {
      */
     @PostMapping("/order-assignations")
     public ResponseEntity<AssignationResponseDTO> assignOrdersToCenters() {
-        AssignationResponseDTO response = orderService.assignOrdersToCenters();
+        // Measured from outside the transaction so the flush at commit is counted
+        AssignationResponseDTO response = sqlStatisticsService.measure(
+                "assignOrdersToCenters", orderService::assignOrdersToCenters);
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Shows how pending orders would be assigned, without changing any data.
+     * Centers can be overridden for the simulation, e.g. to see what happens
+     * if one goes OUT_OF_SERVICE.
+     * 
+     * @param request Optional center overrides
+     * @return Information about the orders as a real run would process them
+     */
+    @PostMapping("/order-assignations/dry-run")
+    public ResponseEntity<AssignationResponseDTO> simulateAssignation(
+            @RequestBody(required = false) DryRunRequestDTO request) {
+        List<CenterOverrideDTO> overrides = request != null ? request.getCenterOverrides() : null;
+        if (overrides != null && overrides.stream()
+                .anyMatch(override -> override == null || override.getCenterId() == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Every center override needs a centerId.");
+        }
+
+        try {
+            AssignationResponseDTO response = sqlStatisticsService.measure("simulateAssignation",
+                    () -> orderService.simulateAssignation(overrides));
+            return ResponseEntity.ok(response);
+        } catch (CenterNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
 }
\ No newline at end of file
@@ -2,12 +2,17 @@ package com.hackathon.inditex.Controllers;
 
 import com.hackathon.inditex.DTO.OrderRequestDTO;
 import com.hackathon.inditex.DTO.OrderResponseDTO;
-import com.hackathon.inditex.Entities.Order;
+import com.hackathon.inditex.Services.DataVersionService;
+import com.hackathon.inditex.Services.OrderExportService;
 import com.hackathon.inditex.Services.OrderService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -22,6 +27,12 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
     /**
      * Creates a new order with PENDING status
      * 
@@ -36,12 +47,67 @@ public class OrderController {
 
     /**
      * Retrieves all orders
+     * Answers 304 Not Modified without reading the database when the client
+     * already holds the current version.
      * 
-     * @return List of all orders
+     * Archived orders are only read when asked for.
+     * 
+     * @param includeArchived Whether to include orders moved to the archive
+     * @param ifNoneMatch     The ETag of the copy held by the client, if any
+     * @return Serialized list of all orders
      */
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders() {
-        List<Order> orders = orderService.getAllOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<byte[]> getAllOrders(
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        long version = dataVersionService.getCurrentVersion();
+        if (DataVersionService.matchesETag(ifNoneMatch, version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(DataVersionService.toETag(version))
+                    .build();
+        }
+
+        DataVersionService.VersionedBody orders = dataVersionService.getSerializedBody(
+                includeArchived ? "orders-with-archive" : "orders",
+                () -> orderService.getAllOrders(includeArchived));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(orders.getETag())
+                .body(orders.getBody());
+    }
+
+    /**
+     * Streams orders for bulk export, straight from a database cursor
+     * 
+     * @param columns         Comma separated columns to export, all when omitted
+     * @param status          Only export orders with this status
+     * @param format          "csv" or "binary"
+     * @param includeArchived Whether to include orders moved to the archive
+     * @return The orders streamed in the requested format
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(required = false) String columns,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = OrderExportService.FORMAT_CSV) String format,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        if (!OrderExportService.FORMAT_CSV.equals(format) && !OrderExportService.FORMAT_BINARY.equals(format)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown export format " + format);
+        }
+
+        List<String> exportColumns;
+        try {
+            exportColumns = orderExportService.resolveColumns(columns);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+
+        StreamingResponseBody body = out -> orderExportService.export(
+                exportColumns, status, includeArchived, format, out);
+        MediaType contentType = OrderExportService.FORMAT_BINARY.equals(format)
+                ? MediaType.APPLICATION_OCTET_STREAM
+                : new MediaType("text", "csv");
+
+        return ResponseEntity.ok().contentType(contentType).body(body);
     }
-}
\ No newline at end of file
+}
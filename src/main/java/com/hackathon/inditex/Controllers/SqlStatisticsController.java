@@ -0,0 +1,32 @@
+package com.hackathon.inditex.Controllers;
+
+import com.hackathon.inditex.DTO.SqlStatisticsReportDTO;
+import com.hackathon.inditex.Services.SqlStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for SQL statistics.
+ * Provides a debug endpoint with the statements, round trips, rows, flushes and JDBC time
+ * of recent requests and assignation runs.
+ */
+@RestController
+@RequestMapping("/api/debug/sql-statistics")
+public class SqlStatisticsController {
+
+    @Autowired
+    private SqlStatisticsService sqlStatisticsService;
+
+    /**
+     * Retrieves the SQL statistics of recent requests and operations
+     * 
+     * @return Recent requests, newest first, and the latest run of each operation
+     */
+    @GetMapping
+    public ResponseEntity<SqlStatisticsReportDTO> getSqlStatistics() {
+        return ResponseEntity.ok(sqlStatisticsService.getReport());
+    }
+}
@@ -0,0 +1,48 @@
+package com.hackathon.inditex.Controllers;
+
+import com.hackathon.inditex.DTO.ReplayReportDTO;
+import com.hackathon.inditex.DTO.ReplayRequestDTO;
+import com.hackathon.inditex.Services.WorkloadReplayService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+
+/**
+ * Controller for replaying captured workloads.
+ * Only registered when workload.replay.enabled is true, since a replay writes
+ * to the database of the instance it runs on.
+ */
+@RestController
+@RequestMapping("/api/workload")
+@ConditionalOnProperty(name = "workload.replay.enabled", havingValue = "true")
+public class WorkloadReplayController {
+
+    @Autowired
+    private WorkloadReplayService workloadReplayService;
+
+    /**
+     * Replays a captured workload log against this instance
+     * 
+     * @param replayRequestDTO The log file and the replay speed
+     * @return Latency per operation and assignment mismatches
+     */
+    @PostMapping("/replay")
+    public ResponseEntity<ReplayReportDTO> replay(@RequestBody ReplayRequestDTO replayRequestDTO) {
+        double speed = replayRequestDTO.getSpeed() != null ? replayRequestDTO.getSpeed() : 1.0;
+
+        try {
+            return ResponseEntity.ok(workloadReplayService.replay(replayRequestDTO.getFile(), speed));
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Could not read workload log: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.hackathon.inditex.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilitySummaryDTO {
+    private Map<String, Long> remainingCapacity;
+    private Double cellSizeDegrees;
+    private List<CellAvailabilityDTO> cells;
+}
@@ -0,0 +1,17 @@
+package com.hackathon.inditex.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CellAvailabilityDTO {
+    // South-west corner of the cell
+    private Double latitude;
+    private Double longitude;
+    private Map<String, Long> remainingCapacity;
+}
@@ -0,0 +1,17 @@
+package com.hackathon.inditex.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CenterOverrideDTO {
+    private Long centerId;
+    // Fields left null keep the stored value
+    private String status;
+    private String capacity;
+    private Integer maxCapacity;
+    private Integer currentLoad;
+}
@@ -0,0 +1,19 @@
+package com.hackathon.inditex.DTO;
+
+import com.hackathon.inditex.Entities.Center;
+import com.hackathon.inditex.Entities.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeFeedDTO {
+    private Long cursor;
+    private List<Center> centers;
+    private List<Order> orders;
+    private List<Long> deletedCenterIds;
+}
@@ -0,0 +1,14 @@
+package com.hackathon.inditex.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DryRunRequestDTO {
+    private List<CenterOverrideDTO> centerOverrides;
+}
@@ -0,0 +1,18 @@
+package com.hackathon.inditex.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperationLatencyDTO {
+    private String operation;
+    private Integer count;
+    private Double meanMs;
+    private Double p50Ms;
+    private Double p95Ms;
+    private Double p99Ms;
+    private Double maxMs;
+}
@@ -0,0 +1,19 @@
+package com.hackathon.inditex.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplayReportDTO {
+    private Integer operations;
+    private Double elapsedMs;
+    private List<OperationLatencyDTO> latencies;
+    private Integer assignationRuns;
+    private Integer mismatches;
+    private List<String> mismatchDetails;
+}
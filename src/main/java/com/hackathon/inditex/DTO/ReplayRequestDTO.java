@@ -0,0 +1,14 @@
+package com.hackathon.inditex.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplayRequestDTO {
+    private String file;
+    // 1 replays at recorded speed, 10 ten times faster, 0 as fast as possible
+    private Double speed;
+}
@@ -0,0 +1,18 @@
+package com.hackathon.inditex.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SqlStatisticsDTO {
+    private String operation;
+    private Long statements;
+    private Long roundTrips;
+    private Long rowsFetched;
+    private Long flushes;
+    private Double jdbcMs;
+    private Double elapsedMs;
+}
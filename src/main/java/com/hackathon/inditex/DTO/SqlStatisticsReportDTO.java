@@ -0,0 +1,16 @@
+package com.hackathon.inditex.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SqlStatisticsReportDTO {
+    private List<SqlStatisticsDTO> recent;
+    private Map<String, SqlStatisticsDTO> lastByOperation;
+}
@@ -0,0 +1,52 @@
+package com.hackathon.inditex.Entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Assigned order moved out of the hot orders table by the archival job.
+ * Keeps the original order ID.
+ */
+@Data
+@Entity
+@Table(name = "orders_archive", indexes = @Index(name = "idx_orders_archive_change_sequence", columnList = "changeSequence"))
+public class ArchivedOrder {
+    @Id
+    private Long id;
+
+    private Long customerId;
+
+    private String size;
+
+    private String status;
+
+    private String assignedCenter;
+
+    @Embedded
+    private Coordinates coordinates;
+
+    @JsonIgnore
+    private Long changeSequence;
+
+    @JsonIgnore
+    private Instant assignedAt;
+
+    /**
+     * Converts the archived row back into an order for read endpoints
+     */
+    public Order toOrder() {
+        Order order = new Order();
+        order.setId(id);
+        order.setCustomerId(customerId);
+        order.setSize(size);
+        order.setStatus(status);
+        order.setAssignedCenter(assignedCenter);
+        order.setCoordinates(coordinates);
+        order.setChangeSequence(changeSequence);
+        order.setAssignedAt(assignedAt);
+        return order;
+    }
+}
@@ -1,11 +1,14 @@
 package com.hackathon.inditex.Entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 
 @Data
 @Entity
-@Table(name = "centers", uniqueConstraints = @UniqueConstraint(columnNames = {"latitude", "longitude"}))
+@Table(name = "centers",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"latitude", "longitude"}),
+        indexes = @Index(name = "idx_centers_change_sequence", columnList = "changeSequence"))
 public class Center {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,4 +26,8 @@ public class Center {
 
     @Embedded
     private Coordinates coordinates;
+
+    // Sequence of the last transaction that changed this center, used by the change feed
+    @JsonIgnore
+    private Long changeSequence;
 }
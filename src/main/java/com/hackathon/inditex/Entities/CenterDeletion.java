@@ -0,0 +1,22 @@
+package com.hackathon.inditex.Entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Tombstone of a deleted logistics center, so the change feed can report
+ * deletions to consumers that are behind.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "center_deletions", indexes = @Index(name = "idx_center_deletions_change_sequence", columnList = "changeSequence"))
+public class CenterDeletion {
+    @Id
+    private Long centerId;
+
+    private Long changeSequence;
+}
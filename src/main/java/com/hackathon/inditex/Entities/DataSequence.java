@@ -0,0 +1,23 @@
+package com.hackathon.inditex.Entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Durable high-water mark of a sequence handed out in blocks, so numbers
+ * already used are never handed out again after a restart.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "data_sequences")
+public class DataSequence {
+    @Id
+    private String name;
+
+    // Every number up to this one may already have been handed out
+    private Long reservedUpTo;
+}
@@ -1,11 +1,17 @@
 package com.hackathon.inditex.Entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 
+import java.time.Instant;
+
 @Data
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_change_sequence", columnList = "changeSequence"),
+        @Index(name = "idx_orders_status_assigned_at", columnList = "status, assignedAt")
+})
 public class Order {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -21,5 +27,13 @@ public class Order {
 
     @Embedded
     private Coordinates coordinates;
+
+    // Sequence of the last transaction that changed this order, used by the change feed
+    @JsonIgnore
+    private Long changeSequence;
+
+    // When the order was assigned, used to move old assignments to the archive
+    @JsonIgnore
+    private Instant assignedAt;
 }
 
@@ -0,0 +1,25 @@
+package com.hackathon.inditex.Repositories;
+
+import com.hackathon.inditex.Entities.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+    List<ArchivedOrder> findByChangeSequenceBetween(Long from, Long to);
+
+    @Query("select coalesce(max(a.changeSequence), 0) from ArchivedOrder a")
+    long findMaxChangeSequence();
+
+    // Copies the rows inside the database, without loading them as entities
+    @Modifying
+    @Query(value = "INSERT INTO orders_archive (id, customer_id, size, status, assigned_center, latitude, longitude, change_sequence, assigned_at) "
+            + "SELECT id, customer_id, size, status, assigned_center, latitude, longitude, change_sequence, assigned_at "
+            + "FROM orders WHERE id IN (:ids)", nativeQuery = true)
+    int copyFromOrders(@Param("ids") List<Long> ids);
+}
@@ -0,0 +1,16 @@
+package com.hackathon.inditex.Repositories;
+
+import com.hackathon.inditex.Entities.CenterDeletion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CenterDeletionRepository extends JpaRepository<CenterDeletion, Long> {
+    List<CenterDeletion> findByChangeSequenceBetween(Long from, Long to);
+
+    @Query("select coalesce(max(d.changeSequence), 0) from CenterDeletion d")
+    long findMaxChangeSequence();
+}
@@ -2,11 +2,18 @@ package com.hackathon.inditex.Repositories;
 
 import com.hackathon.inditex.Entities.Center;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CenterRepository extends JpaRepository<Center, Long> {
     Optional<Center> findByCoordinatesLatitudeAndCoordinatesLongitude(Double latitude, Double longitude);
-}
\ No newline at end of file
+
+    List<Center> findByChangeSequenceBetween(Long from, Long to);
+
+    @Query("select coalesce(max(c.changeSequence), 0) from Center c")
+    long findMaxChangeSequence();
+}
@@ -1,12 +1,39 @@
 package com.hackathon.inditex.Repositories;
 
 import com.hackathon.inditex.Entities.Order;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByStatus(String status);
-}
\ No newline at end of file
+
+    List<Order> findByChangeSequenceBetween(Long from, Long to);
+
+    @Query("select coalesce(max(o.changeSequence), 0) from Order o")
+    long findMaxChangeSequence();
+
+    // Writes the orders a run assigned to one center. Pending center changes are
+    // flushed first, and the loaded orders are detached as they are now stale
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Order o set o.status = :status, o.assignedCenter = :center, o.assignedAt = :assignedAt, "
+            + "o.changeSequence = :changeSequence where o.id in :ids")
+    int assignToCenter(@Param("ids") List<Long> ids, @Param("status") String status, @Param("center") String center,
+            @Param("assignedAt") Instant assignedAt, @Param("changeSequence") Long changeSequence);
+
+    // Served by the (status, assignedAt) index, reading only the rows it returns
+    @Query("select o.id from Order o where o.status = :status and o.assignedAt < :cutoff order by o.assignedAt")
+    List<Long> findIdsToArchive(@Param("status") String status, @Param("cutoff") Instant cutoff, Pageable pageable);
+
+    // Orders assigned before the assignedAt column existed have no timestamp
+    @Modifying
+    @Query("update Order o set o.assignedAt = :assignedAt where o.status = :status and o.assignedAt is null")
+    int backfillAssignedAt(@Param("status") String status, @Param("assignedAt") Instant assignedAt);
+}
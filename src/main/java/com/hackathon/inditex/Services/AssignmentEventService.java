@@ -0,0 +1,168 @@
+package com.hackathon.inditex.Services;
+
+import com.hackathon.inditex.DTO.ProcessedOrderDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Service class that pushes order assignment events to Server-Sent Events
+ * subscribers.
+ * Every assignment path records its processed orders here; they are only
+ * published once the assigning transaction commits. Each subscriber has a
+ * bounded buffer and is dropped as soon as it falls that far behind.
+ */
+@Service
+public class AssignmentEventService {
+
+    private static final String EVENT_NAME = "order-assigned";
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${orders.events.buffer-size:256}")
+    private int bufferSize;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    /**
+     * Registers a new subscriber to the assignment event stream
+     *
+     * @return The emitter streaming events to the subscriber
+     */
+    public SseEmitter subscribe() {
+        // No timeout, the stream lives until the client goes away or is dropped
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize));
+
+        emitter.onCompletion(() -> drop(subscriber));
+        emitter.onTimeout(() -> drop(subscriber));
+        emitter.onError(error -> drop(subscriber));
+
+        subscriber.sender = dispatcher.submit(() -> deliver(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Records an assigned order in the current transaction.
+     * The event is published to subscribers after the transaction commits and
+     * discarded if it rolls back.
+     *
+     * @param processedOrder The assigned order
+     */
+    public void recordAssignment(ProcessedOrderDTO processedOrder) {
+        long changeSequence = dataVersionService.markChanged();
+        List<ProcessedOrderDTO> pending = TransactionHooks.transactionResource(this, ArrayList::new,
+                (events, committed) -> {
+                    if (committed) {
+                        publish(changeSequence, events);
+                    }
+                });
+        pending.add(processedOrder);
+    }
+
+    /**
+     * Stops delivering events on shutdown
+     */
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(this::drop);
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * Helper method to hand committed events to every subscriber buffer
+     */
+    private void publish(long changeSequence, List<ProcessedOrderDTO> events) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        for (Subscriber subscriber : subscribers) {
+            for (ProcessedOrderDTO event : events) {
+                if (!subscriber.queue.offer(new AssignmentEvent(changeSequence, event))) {
+                    // Slow client, its buffer is full
+                    drop(subscriber);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method that sends buffered events to a single subscriber until it
+     * is dropped
+     */
+    private void deliver(Subscriber subscriber) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                AssignmentEvent event = subscriber.queue.take();
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(event.changeSequence))
+                        .name(EVENT_NAME)
+                        .data(event.processedOrder, MediaType.APPLICATION_JSON));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // Client disconnected or the emitter was already completed
+            drop(subscriber);
+        }
+    }
+
+    /**
+     * Helper method to remove a subscriber and close its stream
+     */
+    private void drop(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+
+        subscriber.emitter.complete();
+        subscriber.sender.cancel(true);
+    }
+
+    /**
+     * Helper class to store a subscriber emitter with its bounded buffer
+     */
+    private static class Subscriber {
+        final SseEmitter emitter;
+        final BlockingQueue<AssignmentEvent> queue;
+        volatile Future<?> sender;
+
+        Subscriber(SseEmitter emitter, BlockingQueue<AssignmentEvent> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+
+    /**
+     * Helper class to store an assigned order with the sequence that committed it
+     */
+    private static class AssignmentEvent {
+        final long changeSequence;
+        final ProcessedOrderDTO processedOrder;
+
+        AssignmentEvent(long changeSequence, ProcessedOrderDTO processedOrder) {
+            this.changeSequence = changeSequence;
+            this.processedOrder = processedOrder;
+        }
+    }
+}
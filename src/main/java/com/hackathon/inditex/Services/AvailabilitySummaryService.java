@@ -0,0 +1,257 @@
+package com.hackathon.inditex.Services;
+
+import com.hackathon.inditex.DTO.AvailabilitySummaryDTO;
+import com.hackathon.inditex.DTO.CellAvailabilityDTO;
+import com.hackathon.inditex.Entities.Center;
+import com.hackathon.inditex.Repositories.CenterRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service class that keeps the remaining capacity of available centers per
+ * size class (B, M, S) and per coarse geographic cell, so it can be answered
+ * without querying the database.
+ * The counters are loaded once at startup and then updated incrementally:
+ * center writes and assignments register the centers they touch, and once
+ * the transaction commits the contribution last applied for each of them is
+ * replaced with one computed from its committed state. Contributions carry
+ * the change sequence of that state, and one is never replaced by an older
+ * one, so commit hooks running out of order do not bring back a stale state.
+ * Two transactions that write the same center in the opposite order of their
+ * sequences can still leave it out of date until the center changes again.
+ * A center supporting several sizes counts its remaining capacity towards
+ * each of them.
+ */
+@Service
+public class AvailabilitySummaryService {
+
+    private static final String STATUS_AVAILABLE = "AVAILABLE";
+
+    private final Map<Character, AtomicLong> totals = new ConcurrentHashMap<>();
+
+    private final Map<String, CellCounters> cells = new ConcurrentHashMap<>();
+
+    // Contribution currently included in the counters, per center ID. Deleted
+    // centers keep an empty one, so a late hook cannot bring them back
+    private final Map<Long, Contribution> applied = new ConcurrentHashMap<>();
+
+    @Value("${availability.cell-size-degrees:1.0}")
+    private double cellSizeDegrees;
+
+    @Autowired
+    private CenterRepository centerRepository;
+
+    /**
+     * Loads the counters from the current centers
+     */
+    @PostConstruct
+    void initialize() {
+        for (Center center : centerRepository.findAll()) {
+            replace(center.getId(), contributionOf(center));
+        }
+    }
+
+    /**
+     * Registers a center about to be changed in the current transaction.
+     * Must be called before the center is modified; its final state is read
+     * when the transaction commits.
+     *
+     * @param center The center that will change
+     */
+    public void trackChange(Center center) {
+        track(center);
+    }
+
+    /**
+     * Registers a center created in the current transaction
+     *
+     * @param center The new center
+     */
+    public void trackCreation(Center center) {
+        track(center);
+    }
+
+    /**
+     * Registers a center deleted in the current transaction
+     *
+     * @param center The deleted center
+     */
+    public void trackDeletion(Center center) {
+        track(center).deleted = true;
+    }
+
+    /**
+     * Returns the remaining capacity per size class and per cell
+     *
+     * @return The availability summary
+     */
+    public AvailabilitySummaryDTO getSummary() {
+        List<CellAvailabilityDTO> cellSummaries = new ArrayList<>();
+        for (CellCounters cell : cells.values()) {
+            Map<String, Long> remaining = toMap(cell.remaining);
+            if (remaining.values().stream().anyMatch(value -> value > 0)) {
+                cellSummaries.add(new CellAvailabilityDTO(
+                        cell.latitudeIndex * cellSizeDegrees,
+                        cell.longitudeIndex * cellSizeDegrees,
+                        remaining));
+            }
+        }
+
+        return new AvailabilitySummaryDTO(toMap(totals), cellSizeDegrees, cellSummaries);
+    }
+
+    /**
+     * Helper method to register a center touched in the transaction
+     */
+    private TrackedCenter track(Center center) {
+        Map<Center, TrackedCenter> tracked = TransactionHooks.transactionResource(this, IdentityHashMap::new,
+                (centers, committed) -> {
+                    if (committed) {
+                        centers.forEach(this::applyChange);
+                    }
+                });
+        return tracked.computeIfAbsent(center, key -> new TrackedCenter());
+    }
+
+    /**
+     * Helper method to apply the committed state of a center
+     */
+    private void applyChange(Center center, TrackedCenter tracked) {
+        if (center.getId() == null) {
+            return;
+        }
+        replace(center.getId(), tracked.deleted ? noContribution(center) : contributionOf(center));
+    }
+
+    /**
+     * Helper method to swap the contribution of a center in the counters.
+     * Runs atomically per center, so concurrent commits apply one after the
+     * other, and keeps the applied one if it comes from a newer state.
+     */
+    private void replace(Long centerId, Contribution contribution) {
+        applied.compute(centerId, (id, previous) -> {
+            if (previous != null) {
+                if (contribution.sequence < previous.sequence) {
+                    return previous;
+                }
+                apply(previous, -1);
+            }
+            apply(contribution, 1);
+            return contribution;
+        });
+    }
+
+    /**
+     * Helper method to add or subtract a contribution from the counters
+     */
+    private void apply(Contribution contribution, int sign) {
+        if (contribution.capacity == null || contribution.remaining == 0) {
+            return;
+        }
+
+        String cellKey = contribution.latitudeIndex + ":" + contribution.longitudeIndex;
+        CellCounters cell = cells.computeIfAbsent(cellKey,
+                key -> new CellCounters(contribution.latitudeIndex, contribution.longitudeIndex));
+        long delta = sign * contribution.remaining;
+
+        for (char size : contribution.capacity.toCharArray()) {
+            totals.computeIfAbsent(size, key -> new AtomicLong()).addAndGet(delta);
+            cell.remaining.computeIfAbsent(size, key -> new AtomicLong()).addAndGet(delta);
+        }
+    }
+
+    /**
+     * Helper method to compute what a center adds to the counters
+     */
+    private Contribution contributionOf(Center center) {
+        if (!STATUS_AVAILABLE.equals(center.getStatus()) || center.getCapacity() == null
+                || center.getMaxCapacity() == null || center.getCurrentLoad() == null
+                || center.getCoordinates() == null) {
+            return noContribution(center);
+        }
+
+        long remaining = Math.max(0, center.getMaxCapacity() - center.getCurrentLoad());
+        return new Contribution(
+                center.getCapacity(),
+                (long) Math.floor(center.getCoordinates().getLatitude() / cellSizeDegrees),
+                (long) Math.floor(center.getCoordinates().getLongitude() / cellSizeDegrees),
+                remaining,
+                sequenceOf(center));
+    }
+
+    /**
+     * Helper method to create the empty contribution of an unavailable or
+     * deleted center
+     */
+    private static Contribution noContribution(Center center) {
+        return new Contribution(null, 0, 0, 0, sequenceOf(center));
+    }
+
+    /**
+     * Helper method to read the change sequence of a center, 0 for rows
+     * written before sequences were stamped
+     */
+    private static long sequenceOf(Center center) {
+        return center.getChangeSequence() != null ? center.getChangeSequence() : 0L;
+    }
+
+    /**
+     * Helper method to copy counters into a sorted map
+     */
+    private Map<String, Long> toMap(Map<Character, AtomicLong> counters) {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((size, value) -> values.put(String.valueOf(size), value.get()));
+        return values;
+    }
+
+    /**
+     * Helper class to store the remaining capacity a center adds to a cell,
+     * with the change sequence of the state it was computed from
+     */
+    private static class Contribution {
+        final String capacity;
+        final long latitudeIndex;
+        final long longitudeIndex;
+        final long remaining;
+        final long sequence;
+
+        Contribution(String capacity, long latitudeIndex, long longitudeIndex, long remaining, long sequence) {
+            this.capacity = capacity;
+            this.latitudeIndex = latitudeIndex;
+            this.longitudeIndex = longitudeIndex;
+            this.remaining = remaining;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Helper class to store how a center was touched in the transaction
+     */
+    private static class TrackedCenter {
+        boolean deleted;
+    }
+
+    /**
+     * Helper class to store the counters of one cell
+     */
+    private static class CellCounters {
+        final long latitudeIndex;
+        final long longitudeIndex;
+        final Map<Character, AtomicLong> remaining = new ConcurrentHashMap<>();
+
+        CellCounters(long latitudeIndex, long longitudeIndex) {
+            this.latitudeIndex = latitudeIndex;
+            this.longitudeIndex = longitudeIndex;
+        }
+    }
+}
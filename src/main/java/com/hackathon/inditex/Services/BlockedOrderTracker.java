@@ -0,0 +1,118 @@
+package com.hackathon.inditex.Services;
+
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service class that remembers why pending orders could not be assigned, so
+ * assignation runs only re-evaluate them once capacity for their size class
+ * may have changed.
+ * Every size class (B, M, S) has a version that is bumped after any committed
+ * change to a center supporting it. A blocked order is skipped while the
+ * version of its size class is still the one it was evaluated against.
+ */
+@Service
+public class BlockedOrderTracker {
+
+    private final Map<Character, AtomicLong> sizeVersions = new ConcurrentHashMap<>();
+
+    private final Map<Long, BlockedOrder> blockedOrders = new ConcurrentHashMap<>();
+
+    /**
+     * Records that centers supporting the given capacity changed.
+     * The versions are bumped once the current transaction commits.
+     *
+     * @param capacities Capacity strings of the centers involved, e.g. "MS"
+     */
+    public void markCapacityChanged(String... capacities) {
+        TransactionHooks.afterCommit(() -> {
+            for (String capacity : capacities) {
+                if (capacity == null) {
+                    continue;
+                }
+                for (char size : capacity.toCharArray()) {
+                    sizeVersions.computeIfAbsent(size, key -> new AtomicLong()).incrementAndGet();
+                }
+            }
+        });
+    }
+
+    /**
+     * Takes a snapshot of the size class versions.
+     * Must be taken before the centers are read, so any change committed
+     * afterwards invalidates the outcomes recorded against it.
+     *
+     * @return The current version of every size class
+     */
+    public Map<Character, Long> snapshotVersions() {
+        Map<Character, Long> snapshot = new HashMap<>();
+        sizeVersions.forEach((size, version) -> snapshot.put(size, version.get()));
+        return snapshot;
+    }
+
+    /**
+     * Returns why an order is still blocked, if nothing relevant changed since
+     * it was last evaluated
+     *
+     * @param orderId  The ID of the pending order
+     * @param size     The size of the order
+     * @param versions Snapshot taken at the start of the run
+     * @return The reason it could not be assigned, or null if it must be re-evaluated
+     */
+    public String getBlockedReason(Long orderId, String size, Map<Character, Long> versions) {
+        BlockedOrder blocked = blockedOrders.get(orderId);
+        if (blocked == null || !isTracked(size)) {
+            return null;
+        }
+
+        long current = versions.getOrDefault(size.charAt(0), 0L);
+        return blocked.version == current ? blocked.reason : null;
+    }
+
+    /**
+     * Applies the outcome of an assignation run once it commits.
+     * Outcomes of a rolled back run are discarded, since capacity it used
+     * up is available again.
+     *
+     * @param blocked  Pending orders with the size and reason they were blocked for
+     * @param assigned IDs of the orders that were assigned
+     * @param versions Snapshot taken at the start of the run
+     */
+    public void recordRun(Map<Long, BlockedOrder> blocked, List<Long> assigned, Map<Character, Long> versions) {
+        TransactionHooks.afterCommit(() -> {
+            assigned.forEach(blockedOrders::remove);
+            blocked.forEach((orderId, order) -> {
+                if (isTracked(order.size)) {
+                    order.version = versions.getOrDefault(order.size.charAt(0), 0L);
+                    blockedOrders.put(orderId, order);
+                }
+            });
+        });
+    }
+
+    /**
+     * Helper method to check whether outcomes for an order size can be reused
+     */
+    private boolean isTracked(String size) {
+        return size != null && size.length() == 1;
+    }
+
+    /**
+     * Helper class to store the reason a pending order could not be assigned
+     */
+    public static class BlockedOrder {
+        final String size;
+        final String reason;
+        long version;
+
+        public BlockedOrder(String size, String reason) {
+            this.size = size;
+            this.reason = reason;
+        }
+    }
+}
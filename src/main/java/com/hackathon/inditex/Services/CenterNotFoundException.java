@@ -0,0 +1,11 @@
+package com.hackathon.inditex.Services;
+
+/**
+ * Thrown when an operation targets a logistics center that does not exist.
+ */
+public class CenterNotFoundException extends RuntimeException {
+
+    public CenterNotFoundException(Long centerId) {
+        super("Center not found: " + centerId);
+    }
+}
@@ -3,6 +3,8 @@ package com.hackathon.inditex.Services;
 import com.hackathon.inditex.DTO.CenterDTO;
 import com.hackathon.inditex.DTO.CenterResponseDTO;
 import com.hackathon.inditex.Entities.Center;
+import com.hackathon.inditex.Entities.CenterDeletion;
+import com.hackathon.inditex.Repositories.CenterDeletionRepository;
 import com.hackathon.inditex.Repositories.CenterRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -22,6 +24,21 @@ public class CenterService {
     @Autowired
     private CenterRepository centerRepository;
 
+    @Autowired
+    private CenterDeletionRepository centerDeletionRepository;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private WorkloadCaptureService workloadCaptureService;
+
+    @Autowired
+    private BlockedOrderTracker blockedOrderTracker;
+
+    @Autowired
+    private AvailabilitySummaryService availabilitySummaryService;
+
     /**
      * Creates a new logistics center.
      * Validates if the currentLoad doesn't exceed maxCapacity and if there's no
@@ -48,11 +65,33 @@ public class CenterService {
 
         // Create and save the new center
         Center center = mapDtoToEntity(centerDTO);
+        availabilitySummaryService.trackCreation(center);
+        center.setChangeSequence(dataVersionService.markChanged());
         centerRepository.save(center);
+        workloadCaptureService.recordCreateCenter(center.getId(), centerDTO);
+        blockedOrderTracker.markCapacityChanged(center.getCapacity());
 
         return new CenterResponseDTO("Logistics center created successfully.");
     }
 
+    /**
+     * Recreates a center exactly as given, without validation.
+     * Used by workload replay to restore the centers captured at the start of
+     * a workload log, which may not pass the checks of a regular creation.
+     * 
+     * @param centerDTO Data Transfer Object containing center information
+     * @return The ID given to the center
+     */
+    @Transactional
+    public Long restoreCenter(CenterDTO centerDTO) {
+        Center center = mapDtoToEntity(centerDTO);
+        availabilitySummaryService.trackCreation(center);
+        center.setChangeSequence(dataVersionService.markChanged());
+        centerRepository.save(center);
+        blockedOrderTracker.markCapacityChanged(center.getCapacity());
+        return center.getId();
+    }
+
     /**
      * Retrieves all logistics centers.
      * 
@@ -79,10 +118,20 @@ public class CenterService {
         }
 
         Center center = optionalCenter.get();
+        String previousCapacity = center.getCapacity();
+        availabilitySummaryService.trackChange(center);
 
         // Update center fields with provided values
         updateCenterFields(center, centerDTO);
 
+        // The center is managed, so it is written at commit even if a check below
+        // fails: stamp it now so cached responses and the change feed include the
+        // write, and pending orders of both its old and new sizes are re-evaluated
+        // by the next assignation run
+        center.setChangeSequence(dataVersionService.markChanged());
+        blockedOrderTracker.markCapacityChanged(previousCapacity, center.getCapacity());
+        workloadCaptureService.recordUpdateCenter(id, centerDTO);
+
         // Check if new coordinates are already used by another center
         if (centerDTO.getCoordinates() != null) {
             CenterResponseDTO coordinateCheckResult = validateCoordinatesForUpdate(id, centerDTO, center);
@@ -112,7 +161,17 @@ public class CenterService {
     public CenterResponseDTO deleteCenter(Long id) {
         // We're not checking if the center exists as the documentation doesn't specify
         // any special handling for this case
-        centerRepository.deleteById(id);
+        centerRepository.findById(id).ifPresent(center -> {
+            // Only real deletions change the data version and reach the change feed
+            long changeSequence = dataVersionService.markChanged();
+            availabilitySummaryService.trackDeletion(center);
+            center.setChangeSequence(changeSequence);
+            centerRepository.delete(center);
+            blockedOrderTracker.markCapacityChanged(center.getCapacity());
+
+            centerDeletionRepository.save(new CenterDeletion(id, changeSequence));
+        });
+        workloadCaptureService.recordDeleteCenter(id);
         return new CenterResponseDTO("Logistics center deleted successfully.");
     }
 
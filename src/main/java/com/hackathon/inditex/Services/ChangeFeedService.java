@@ -0,0 +1,83 @@
+package com.hackathon.inditex.Services;
+
+import com.hackathon.inditex.DTO.ChangeFeedDTO;
+import com.hackathon.inditex.Entities.ArchivedOrder;
+import com.hackathon.inditex.Entities.CenterDeletion;
+import com.hackathon.inditex.Entities.Order;
+import com.hackathon.inditex.Repositories.ArchivedOrderRepository;
+import com.hackathon.inditex.Repositories.CenterDeletionRepository;
+import com.hackathon.inditex.Repositories.CenterRepository;
+import com.hackathon.inditex.Repositories.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service class that serves incremental changes of centers and orders.
+ * Consumers keep the cursor returned by each call and pass it back to receive
+ * only what changed after it.
+ */
+@Service
+public class ChangeFeedService {
+
+    @Autowired
+    private CenterRepository centerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CenterDeletionRepository centerDeletionRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    /**
+     * Retrieves the centers and orders changed after the given cursor.
+     * A cursor of 0 returns a full snapshot of the hot tables to start from.
+     * Incremental reads also look in the archive, so a consumer that is far
+     * behind still sees orders archived since its cursor.
+     *
+     * @param since The cursor returned by the previous call
+     * @return The changes and the cursor to use next
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedDTO getChangesSince(long since) {
+        // Only changes up to the current version are complete, later sequences
+        // may still belong to running transactions
+        long cursor = dataVersionService.getCurrentVersion();
+
+        if (since <= 0) {
+            return new ChangeFeedDTO(cursor, centerRepository.findAll(), orderRepository.findAll(),
+                    Collections.emptyList());
+        }
+        if (since >= cursor) {
+            return new ChangeFeedDTO(since, Collections.emptyList(), Collections.emptyList(),
+                    Collections.emptyList());
+        }
+
+        List<Long> deletedCenterIds = centerDeletionRepository.findByChangeSequenceBetween(since + 1, cursor)
+                .stream()
+                .map(CenterDeletion::getCenterId)
+                .collect(Collectors.toList());
+
+        List<Order> orders = new ArrayList<>(orderRepository.findByChangeSequenceBetween(since + 1, cursor));
+        archivedOrderRepository.findByChangeSequenceBetween(since + 1, cursor).stream()
+                .map(ArchivedOrder::toOrder)
+                .forEach(orders::add);
+
+        return new ChangeFeedDTO(
+                cursor,
+                centerRepository.findByChangeSequenceBetween(since + 1, cursor),
+                orders,
+                deletedCenterIds);
+    }
+}
@@ -0,0 +1,329 @@
+package com.hackathon.inditex.Services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.inditex.Repositories.ArchivedOrderRepository;
+import com.hackathon.inditex.Repositories.CenterDeletionRepository;
+import com.hackathon.inditex.Repositories.CenterRepository;
+import com.hackathon.inditex.Repositories.OrderRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Service class that tracks a monotonically increasing version of the center
+ * and order data.
+ * Every write transaction is given a change sequence number that is stamped
+ * on the rows it touches. The highest sequence below which every transaction
+ * has finished is the current version: it is used as an ETag for conditional
+ * GETs, as the key for the cached serialized responses of the read endpoints
+ * and as the cursor of the change feed.
+ * Sequences are reserved in blocks in the data_sequences table, in their own
+ * transaction, before any of them is handed out. A number is therefore never
+ * reused after a restart, even if the transaction that took it rolled back
+ * or stamped no row. Reservations use a connection of their own and the next
+ * block is reserved in the background once half of the current one is used,
+ * so writers never wait on the application pool for it.
+ */
+@Service
+public class DataVersionService {
+
+    private static final String SEQUENCE_NAME = "changes";
+
+    private final Map<String, VersionedBody> cachedBodies = new ConcurrentHashMap<>();
+
+    // Sequences handed to transactions that have not finished yet
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+
+    private long lastAllocated;
+
+    private long reservedUpTo;
+
+    // Background reservation of the next block, null when none is running
+    private CompletableFuture<Void> reservation;
+
+    private volatile long version;
+
+    @Value("${data.version.block-size:1000}")
+    private int blockSize;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CenterRepository centerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CenterDeletionRepository centerDeletionRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    private HikariDataSource sequenceDataSource;
+
+    private JdbcTemplate sequenceJdbcTemplate;
+
+    private TransactionTemplate reservationTemplate;
+
+    private final ExecutorService reservationExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("change-sequence-reservation").factory());
+
+    /**
+     * Resumes the sequence after the highest one reserved, so versions and
+     * feed cursors stay valid across restarts, and reserves the first block.
+     * Sequences stamped on rows are also considered, for databases written
+     * before reservations were recorded.
+     */
+    @PostConstruct
+    void initialize() {
+        sequenceDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        sequenceDataSource.setPoolName("change-sequence");
+        sequenceDataSource.setMaximumPoolSize(1);
+        sequenceDataSource.setMinimumIdle(0);
+        sequenceJdbcTemplate = new JdbcTemplate(sequenceDataSource);
+        reservationTemplate = new TransactionTemplate(new DataSourceTransactionManager(sequenceDataSource));
+
+        long stored = Math.max(
+                Math.max(centerRepository.findMaxChangeSequence(), centerDeletionRepository.findMaxChangeSequence()),
+                Math.max(orderRepository.findMaxChangeSequence(), archivedOrderRepository.findMaxChangeSequence()));
+        long start = Math.max(stored, reserve(0));
+
+        synchronized (inFlight) {
+            lastAllocated = start;
+            version = start;
+            reservedUpTo = reserve(start + blockSize);
+        }
+    }
+
+    /**
+     * Stops reserving sequences and closes the reservation connection
+     */
+    @PreDestroy
+    void close() {
+        reservationExecutor.shutdown();
+        sequenceDataSource.close();
+    }
+
+    /**
+     * Records that center or order data has changed in the current transaction.
+     * All changes in one transaction share the same sequence number. The
+     * version only moves past it once the transaction and every earlier one
+     * have finished, so a reader never caches uncommitted data under it and
+     * the change feed never skips a late commit.
+     *
+     * @return The change sequence to stamp on the changed rows
+     */
+    public long markChanged() {
+        return TransactionHooks.transactionResource(this, this::allocate, (sequence, committed) -> release(sequence));
+    }
+
+    /**
+     * Returns the current data version
+     *
+     * @return The current version
+     */
+    public long getCurrentVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the serialized JSON body of a resource for the current version.
+     * The body is only loaded and serialized when the cached one belongs to an
+     * older version.
+     *
+     * @param resource Key identifying the resource, e.g. "centers"
+     * @param loader   Supplies the data to serialize on a cache miss
+     * @return The version and its serialized body
+     */
+    public VersionedBody getSerializedBody(String resource, Supplier<?> loader) {
+        long currentVersion = version;
+
+        VersionedBody cached = cachedBodies.get(resource);
+        if (cached != null && cached.getVersion() == currentVersion) {
+            return cached;
+        }
+
+        VersionedBody body = new VersionedBody(currentVersion, serialize(loader.get()));
+        cachedBodies.merge(resource, body,
+                (existing, fresh) -> existing.getVersion() >= fresh.getVersion() ? existing : fresh);
+        return body;
+    }
+
+    /**
+     * Formats a version as a strong ETag value
+     */
+    public static String toETag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Checks whether an If-None-Match header already names the given version
+     *
+     * @param ifNoneMatch Value of the If-None-Match request header, may be null
+     * @param version     The version to compare against
+     * @return true if the client copy is up to date
+     */
+    public static boolean matchesETag(String ifNoneMatch, long version) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        String etag = toETag(version);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals(etag) || trimmed.equals("*")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Helper method to hand out the next sequence number
+     */
+    private Long allocate() {
+        while (true) {
+            CompletableFuture<Void> pending;
+            synchronized (inFlight) {
+                if (lastAllocated < reservedUpTo) {
+                    long sequence = ++lastAllocated;
+                    inFlight.add(sequence);
+                    if (reservedUpTo - lastAllocated <= blockSize / 2) {
+                        requestReservation();
+                    }
+                    return sequence;
+                }
+                pending = requestReservation();
+            }
+
+            // Only reached when writes outpace the background reservation; the
+            // monitor is not held, so other transactions can still finish
+            try {
+                pending.join();
+            } catch (CompletionException e) {
+                throw new IllegalStateException("Could not reserve change sequences", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Helper method to start reserving the next block in the background, if
+     * that is not already running. Must be called holding the monitor.
+     */
+    private CompletableFuture<Void> requestReservation() {
+        if (reservation == null) {
+            long upTo = reservedUpTo + blockSize;
+            reservation = CompletableFuture.supplyAsync(() -> reserve(upTo), reservationExecutor)
+                    .thenAccept(reserved -> {
+                        synchronized (inFlight) {
+                            reservedUpTo = Math.max(reservedUpTo, reserved);
+                        }
+                    })
+                    .whenComplete((ignored, error) -> {
+                        synchronized (inFlight) {
+                            reservation = null;
+                        }
+                    });
+        }
+        return reservation;
+    }
+
+    /**
+     * Helper method to durably reserve sequences up to the given one.
+     * Commits on its own, so the reservation survives a rollback of the
+     * transaction that needed it.
+     *
+     * @return The highest reserved sequence
+     */
+    private long reserve(long upTo) {
+        return reservationTemplate.execute(status -> {
+            Long current = sequenceJdbcTemplate.query(
+                    "SELECT reserved_up_to FROM data_sequences WHERE name = ? FOR UPDATE",
+                    rs -> rs.next() ? rs.getLong(1) : null,
+                    SEQUENCE_NAME);
+            long reserved = Math.max(current != null ? current : 0L, upTo);
+
+            if (current == null) {
+                sequenceJdbcTemplate.update("INSERT INTO data_sequences (name, reserved_up_to) VALUES (?, ?)",
+                        SEQUENCE_NAME, reserved);
+            } else if (reserved > current) {
+                sequenceJdbcTemplate.update("UPDATE data_sequences SET reserved_up_to = ? WHERE name = ?",
+                        reserved, SEQUENCE_NAME);
+            }
+            return reserved;
+        });
+    }
+
+    /**
+     * Helper method to release a finished sequence and advance the version
+     */
+    private void release(long sequence) {
+        synchronized (inFlight) {
+            inFlight.remove(sequence);
+            version = inFlight.isEmpty() ? lastAllocated : inFlight.first() - 1;
+        }
+    }
+
+    /**
+     * Helper method to serialize the response data to JSON bytes
+     */
+    private byte[] serialize(Object data) {
+        try {
+            return objectMapper.writeValueAsBytes(data);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response body", e);
+        }
+    }
+
+    /**
+     * Serialized response body together with the data version it was built from
+     */
+    public static class VersionedBody {
+        private final long version;
+        private final byte[] body;
+
+        VersionedBody(long version, byte[] body) {
+            this.version = version;
+            this.body = body;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public String getETag() {
+            return toETag(version);
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.hackathon.inditex.Services;
+
+import com.hackathon.inditex.Repositories.ArchivedOrderRepository;
+import com.hackathon.inditex.Repositories.OrderRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Service class that moves old assigned orders from the hot orders table to
+ * the archive, so the hot table only holds pending and recent work.
+ * Runs in the background in batches, each batch in its own transaction.
+ */
+@Service
+@ConditionalOnProperty(name = "orders.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderArchivalService {
+
+    private static final String STATUS_ASSIGNED = "ASSIGNED";
+
+    @Value("${orders.archive.min-age:P7D}")
+    private Duration minAge;
+
+    @Value("${orders.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Scheduled runs never overlap, so a plain flag is enough
+    private boolean assignedAtBackfilled;
+
+    /**
+     * Archives every assigned order older than the configured age
+     *
+     * @return Number of orders moved to the archive
+     */
+    @Scheduled(fixedDelayString = "${orders.archive.interval:PT10M}")
+    public int archiveAssignedOrders() {
+        if (!assignedAtBackfilled) {
+            // Legacy orders count as old, as they did before they had a timestamp
+            transactionTemplate.executeWithoutResult(
+                    status -> orderRepository.backfillAssignedAt(STATUS_ASSIGNED, Instant.EPOCH));
+            assignedAtBackfilled = true;
+        }
+
+        Instant cutoff = Instant.now().minus(minAge);
+        int archived = 0;
+
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            archived += moved;
+        } while (moved == batchSize);
+
+        return archived;
+    }
+
+    /**
+     * Helper method to move one batch of orders to the archive
+     */
+    private int archiveBatch(Instant cutoff) {
+        List<Long> ids = orderRepository.findIdsToArchive(STATUS_ASSIGNED, cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        archivedOrderRepository.copyFromOrders(ids);
+        orderRepository.deleteAllByIdInBatch(ids);
+
+        // The hot order list changed, so cached responses must be rebuilt. Moved rows
+        // keep their sequence, as archiving is not a change the feed reports; the new
+        // one stamps no row but is reserved durably, so it is never handed out again
+        dataVersionService.markChanged();
+        return ids.size();
+    }
+}
@@ -0,0 +1,325 @@
+package com.hackathon.inditex.Services;
+
+import com.hackathon.inditex.Config.SqlStatisticsDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Service class that streams orders straight from a JDBC cursor to an output
+ * stream, for bulk exports.
+ * Rows are written as they are read, without building entities, so memory use
+ * does not depend on the number of orders. Supports column projection, a
+ * status filter and two formats:
+ * <ul>
+ * <li>csv: a header line followed by one line per order</li>
+ * <li>binary: a header with the column names and types, then one
+ * length-prefixed row per order, each starting with a null bitmap, and a
+ * length of -1 to mark the end</li>
+ * </ul>
+ * Exports use a small pool of their own: on MySQL, reading through a cursor
+ * needs useCursorFetch, which would also switch every other query of the
+ * application to server-side prepared statements.
+ */
+@Service
+public class OrderExportService {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_BINARY = "binary";
+
+    // "IOX1"
+    private static final int BINARY_MAGIC = 0x494F5831;
+
+    private static final byte TYPE_LONG = 1;
+    private static final byte TYPE_DOUBLE = 2;
+    private static final byte TYPE_STRING = 3;
+    // Epoch milliseconds
+    private static final byte TYPE_TIMESTAMP = 4;
+
+    private static final Map<String, ExportColumn> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("id", new ExportColumn("id", TYPE_LONG));
+        COLUMNS.put("customerId", new ExportColumn("customer_id", TYPE_LONG));
+        COLUMNS.put("size", new ExportColumn("size", TYPE_STRING));
+        COLUMNS.put("status", new ExportColumn("status", TYPE_STRING));
+        COLUMNS.put("assignedCenter", new ExportColumn("assigned_center", TYPE_STRING));
+        COLUMNS.put("latitude", new ExportColumn("latitude", TYPE_DOUBLE));
+        COLUMNS.put("longitude", new ExportColumn("longitude", TYPE_DOUBLE));
+        COLUMNS.put("assignedAt", new ExportColumn("assigned_at", TYPE_TIMESTAMP));
+    }
+
+    @Value("${orders.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${orders.export.max-connections:2}")
+    private int maxConnections;
+
+    @Value("${sql.statistics.enabled:false}")
+    private boolean sqlStatisticsEnabled;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    private HikariDataSource exportDataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates a template that reads through a cursor in chunks of the
+     * configured fetch size instead of loading the whole result
+     */
+    @PostConstruct
+    void initialize() {
+        exportDataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        exportDataSource.setPoolName("export");
+        exportDataSource.setMaximumPoolSize(maxConnections);
+        exportDataSource.setMinimumIdle(0);
+        if (exportDataSource.getJdbcUrl().startsWith("jdbc:mysql:")) {
+            exportDataSource.addDataSourceProperty("useCursorFetch", "true");
+        }
+
+        jdbcTemplate = new JdbcTemplate(sqlStatisticsEnabled
+                ? new SqlStatisticsDataSource(exportDataSource)
+                : exportDataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    /**
+     * Closes the export connections
+     */
+    @PreDestroy
+    void close() {
+        exportDataSource.close();
+    }
+
+    /**
+     * Validates a comma separated list of column names
+     *
+     * @param columns Requested columns, all of them when null or blank
+     * @return The column names in the requested order
+     * @throws IllegalArgumentException If a column does not exist
+     */
+    public List<String> resolveColumns(String columns) {
+        if (columns == null || columns.isBlank()) {
+            return new ArrayList<>(COLUMNS.keySet());
+        }
+
+        List<String> resolved = new ArrayList<>();
+        for (String column : columns.split(",")) {
+            String name = column.trim();
+            if (!COLUMNS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown column " + name + ", expected one of " + COLUMNS.keySet());
+            }
+            resolved.add(name);
+        }
+        return resolved;
+    }
+
+    /**
+     * Writes the matching orders to the output stream
+     *
+     * @param columns         Columns to export, as returned by {@link #resolveColumns(String)}
+     * @param status          Only export orders with this status, all when null
+     * @param includeArchived Whether to also export archived orders
+     * @param format          {@link #FORMAT_CSV} or {@link #FORMAT_BINARY}
+     * @param out             Stream to write to
+     * @throws IOException If writing fails
+     */
+    public void export(List<String> columns, String status, boolean includeArchived, String format,
+            OutputStream out) throws IOException {
+        List<ExportColumn> exportColumns = columns.stream().map(COLUMNS::get).collect(Collectors.toList());
+        String projection = exportColumns.stream().map(column -> column.sqlName).collect(Collectors.joining(", "));
+
+        String where = status != null ? " WHERE status = ?" : "";
+        String sql = "SELECT " + projection + " FROM orders" + where;
+        List<Object> args = new ArrayList<>();
+        if (status != null) {
+            args.add(status);
+        }
+        if (includeArchived) {
+            sql += " UNION ALL SELECT " + projection + " FROM orders_archive" + where;
+            if (status != null) {
+                args.add(status);
+            }
+        }
+
+        try {
+            if (FORMAT_BINARY.equals(format)) {
+                exportBinary(sql, args, columns, exportColumns, out);
+            } else {
+                exportCsv(sql, args, columns, exportColumns, out);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Helper method to stream the rows as CSV
+     */
+    private void exportCsv(String sql, List<Object> args, List<String> names, List<ExportColumn> columns,
+            OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", names));
+        writer.write('\n');
+
+        jdbcTemplate.query(sql, rs -> {
+            try {
+                for (int i = 0; i < columns.size(); i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writer.write(csvValue(rs, i + 1, columns.get(i).type));
+                }
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, args.toArray());
+
+        writer.flush();
+    }
+
+    /**
+     * Helper method to stream the rows in the length-prefixed binary format
+     */
+    private void exportBinary(String sql, List<Object> args, List<String> names, List<ExportColumn> columns,
+            OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(BINARY_MAGIC);
+        data.writeShort(columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            data.writeUTF(names.get(i));
+            data.writeByte(columns.get(i).type);
+        }
+
+        // Each row is assembled in a reused buffer to know its length up front
+        ByteArrayOutputStream rowBytes = new ByteArrayOutputStream();
+        DataOutputStream row = new DataOutputStream(rowBytes);
+        byte[] nulls = new byte[(columns.size() + 7) / 8];
+
+        jdbcTemplate.query(sql, rs -> {
+            try {
+                rowBytes.reset();
+                Arrays.fill(nulls, (byte) 0);
+                row.write(nulls);
+
+                for (int i = 0; i < columns.size(); i++) {
+                    if (!writeBinaryValue(rs, i + 1, columns.get(i).type, row)) {
+                        nulls[i / 8] |= (byte) (1 << (i % 8));
+                    }
+                }
+
+                // Patch the null bitmap now that it is known
+                byte[] bytes = rowBytes.toByteArray();
+                System.arraycopy(nulls, 0, bytes, 0, nulls.length);
+                data.writeInt(bytes.length);
+                data.write(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, args.toArray());
+
+        data.writeInt(-1);
+        data.flush();
+    }
+
+    /**
+     * Helper method to write one binary value
+     *
+     * @return false if the value was null and nothing was written
+     */
+    private boolean writeBinaryValue(ResultSet rs, int index, byte type, DataOutputStream row)
+            throws SQLException, IOException {
+        switch (type) {
+            case TYPE_LONG:
+                long longValue = rs.getLong(index);
+                if (rs.wasNull()) {
+                    return false;
+                }
+                row.writeLong(longValue);
+                return true;
+            case TYPE_DOUBLE:
+                double doubleValue = rs.getDouble(index);
+                if (rs.wasNull()) {
+                    return false;
+                }
+                row.writeDouble(doubleValue);
+                return true;
+            case TYPE_TIMESTAMP:
+                Timestamp timestamp = rs.getTimestamp(index);
+                if (timestamp == null) {
+                    return false;
+                }
+                row.writeLong(timestamp.getTime());
+                return true;
+            default:
+                String stringValue = rs.getString(index);
+                if (stringValue == null) {
+                    return false;
+                }
+                row.writeUTF(stringValue);
+                return true;
+        }
+    }
+
+    /**
+     * Helper method to format one CSV value, quoting it when needed
+     */
+    private String csvValue(ResultSet rs, int index, byte type) throws SQLException {
+        if (type == TYPE_TIMESTAMP) {
+            Timestamp timestamp = rs.getTimestamp(index);
+            return timestamp != null ? timestamp.toInstant().toString() : "";
+        }
+
+        String value = rs.getString(index);
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    /**
+     * Helper class to store the SQL name and binary type of an exported column
+     */
+    private static class ExportColumn {
+        final String sqlName;
+        final byte type;
+
+        ExportColumn(String sqlName, byte type) {
+            this.sqlName = sqlName;
+            this.type = type;
+        }
+    }
+}
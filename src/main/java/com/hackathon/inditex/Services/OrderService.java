@@ -2,16 +2,27 @@ package com.hackathon.inditex.Services;
 
 import com.hackathon.inditex.DTO.*;
 import com.hackathon.inditex.Entities.Center;
+import com.hackathon.inditex.Entities.ArchivedOrder;
 import com.hackathon.inditex.Entities.Order;
+import com.hackathon.inditex.Repositories.ArchivedOrderRepository;
 import com.hackathon.inditex.Repositories.CenterRepository;
 import com.hackathon.inditex.Repositories.OrderRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 /**
@@ -29,12 +40,33 @@ public class OrderService {
     private static final String STATUS_ASSIGNED = "ASSIGNED";
     private static final String STATUS_AVAILABLE = "AVAILABLE";
 
+    // Keeps a bulk update well below the bind parameter limit of MySQL
+    private static final int MAX_IDS_PER_UPDATE = 10_000;
+
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
     @Autowired
     private CenterRepository centerRepository;
 
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private AssignmentEventService assignmentEventService;
+
+    @Autowired
+    private WorkloadCaptureService workloadCaptureService;
+
+    @Autowired
+    private BlockedOrderTracker blockedOrderTracker;
+
+    @Autowired
+    private AvailabilitySummaryService availabilitySummaryService;
+
     /**
      * Creates a new order with PENDING status
      * 
@@ -52,7 +84,9 @@ public class OrderService {
         order.setAssignedCenter(null);
 
         // Save order to database
+        order.setChangeSequence(dataVersionService.markChanged());
         Order savedOrder = orderRepository.save(order);
+        workloadCaptureService.recordCreateOrder(savedOrder.getId(), orderRequestDTO);
 
         // Create and populate response object
         OrderResponseDTO response = createOrderResponse(savedOrder);
@@ -69,6 +103,26 @@ public class OrderService {
         return orderRepository.findAll();
     }
 
+    /**
+     * Retrieves all orders, optionally including the archived ones
+     * 
+     * @param includeArchived Whether to also read the archive
+     * @return List of orders sorted by ID
+     */
+    @Transactional(readOnly = true)
+    public List<Order> getAllOrders(boolean includeArchived) {
+        if (!includeArchived) {
+            return getAllOrders();
+        }
+
+        List<Order> orders = archivedOrderRepository.findAll().stream()
+                .map(ArchivedOrder::toOrder)
+                .collect(Collectors.toCollection(ArrayList::new));
+        orders.addAll(orderRepository.findAll());
+        orders.sort(Comparator.comparing(Order::getId));
+        return orders;
+    }
+
     /**
      * Assigns logistics centers to pending orders based on proximity and
      * availability
@@ -77,6 +131,10 @@ public class OrderService {
      */
     @Transactional
     public AssignationResponseDTO assignOrdersToCenters() {
+        // Snapshot capacity versions before reading centers, so changes committed
+        // during the run make its blocked orders be re-evaluated next time
+        Map<Character, Long> capacityVersions = blockedOrderTracker.snapshotVersions();
+
         // Get all orders with PENDING status
         List<Order> pendingOrders = orderRepository.findByStatus(STATUS_PENDING);
 
@@ -87,15 +145,91 @@ public class OrderService {
         List<Center> availableCenters = getAvailableCenters();
 
         List<ProcessedOrderDTO> processedOrders = new ArrayList<>();
+        Map<Long, BlockedOrderTracker.BlockedOrder> blockedOrders = new HashMap<>();
+        List<Long> assignedOrderIds = new ArrayList<>();
+        Map<String, List<Long>> assignedOrderIdsByCenter = new LinkedHashMap<>();
 
         // Process each pending order
         for (Order order : pendingOrders) {
-            ProcessedOrderDTO processedOrder = processOrder(order, availableCenters);
+            // Orders blocked last time stay blocked until a center of their size changes
+            String blockedReason = blockedOrderTracker.getBlockedReason(
+                    order.getId(), order.getSize(), capacityVersions);
+            if (blockedReason != null) {
+                processedOrders.add(createPendingOrderResponse(order.getId(), blockedReason));
+                continue;
+            }
+
+            ProcessedOrderDTO processedOrder = processOrder(order, availableCenters,
+                    (pendingOrder, center) -> assignOrderToCenter(center));
             processedOrders.add(processedOrder);
 
+            if (STATUS_ASSIGNED.equals(processedOrder.getStatus())) {
+                assignedOrderIds.add(order.getId());
+                assignedOrderIdsByCenter
+                        .computeIfAbsent(processedOrder.getAssignedLogisticsCenter(), name -> new ArrayList<>())
+                        .add(order.getId());
+
+                // Notify change stream subscribers once the assignment commits
+                assignmentEventService.recordAssignment(processedOrder);
+            } else {
+                blockedOrders.put(order.getId(),
+                        new BlockedOrderTracker.BlockedOrder(order.getSize(), processedOrder.getMessage()));
+            }
+
             // If order was assigned, update the availableCenters list to reflect the new
             // currentLoad
-            updateAvailableCentersIfOrderAssigned(processedOrder, availableCenters);
+            updateAvailableCentersIfOrderAssigned(processedOrder, availableCenters, UnaryOperator.identity());
+        }
+
+        updateAssignedOrders(assignedOrderIdsByCenter);
+        blockedOrderTracker.recordRun(blockedOrders, assignedOrderIds, capacityVersions);
+
+        AssignationResponseDTO response = new AssignationResponseDTO();
+        response.setProcessedOrders(processedOrders);
+        workloadCaptureService.recordAssignation(response);
+
+        return response;
+    }
+
+    /**
+     * Shows what {@link #assignOrdersToCenters()} would do, without writing
+     * anything.
+     * Runs the same algorithm over all pending orders against a copy-on-write
+     * snapshot of the centers: stored centers are only read, and a center is
+     * copied the first time an override or an assignment changes it. Blocked
+     * orders are always re-evaluated, since overrides may unblock them.
+     *
+     * @param overrides Changes to apply to the snapshot before the run, may be null
+     * @return Response with the orders as the real run would process them
+     * @throws CenterNotFoundException If an override targets a center that does not exist
+     */
+    @Transactional(readOnly = true)
+    public AssignationResponseDTO simulateAssignation(List<CenterOverrideDTO> overrides) {
+        // Entities loaded in a read-only transaction are neither dirty checked nor flushed
+        List<Order> pendingOrders = orderRepository.findByStatus(STATUS_PENDING);
+        pendingOrders.sort(Comparator.comparing(Order::getId));
+
+        List<Center> centers = new ArrayList<>(centerRepository.findAll());
+        if (overrides != null) {
+            for (CenterOverrideDTO override : overrides) {
+                applyOverride(centers, override);
+            }
+        }
+
+        CenterSnapshot snapshot = new CenterSnapshot(centers.stream()
+                .filter(center -> STATUS_AVAILABLE.equals(center.getStatus()))
+                .collect(Collectors.toList()));
+
+        List<ProcessedOrderDTO> processedOrders = new ArrayList<>();
+        for (Order order : pendingOrders) {
+            ProcessedOrderDTO processedOrder = processOrder(order, snapshot.centers, (pendingOrder, center) -> {
+                Center copy = snapshot.writable(center);
+                copy.setCurrentLoad(copy.getCurrentLoad() + 1);
+            });
+            processedOrders.add(processedOrder);
+
+            // Same bookkeeping as the real run, so both reach the same outcome
+            updateAvailableCentersIfOrderAssigned(processedOrder, snapshot.centers, snapshot::writable);
         }
 
         AssignationResponseDTO response = new AssignationResponseDTO();
@@ -107,12 +241,14 @@ public class OrderService {
     /**
      * Processes a single order for center assignment
      * Finds the nearest compatible center with available capacity
-     * 
+     *
      * @param order            The order to process
      * @param availableCenters List of available centers
+     * @param assignment       Applies the assignment to the chosen center
      * @return Processed order information
      */
-    private ProcessedOrderDTO processOrder(Order order, List<Center> availableCenters) {
+    private ProcessedOrderDTO processOrder(Order order, List<Center> availableCenters,
+            BiConsumer<Order, Center> assignment) {
         ProcessedOrderDTO processedOrder = new ProcessedOrderDTO();
         processedOrder.setOrderId(order.getId());
 
@@ -137,7 +273,7 @@ public class OrderService {
         }
 
         // Assign the order to the nearest center
-        assignOrderToCenter(order, nearestCenter.center);
+        assignment.accept(order, nearestCenter.center);
 
         // Create success response
         processedOrder.setDistance(nearestCenter.distance);
@@ -199,17 +335,61 @@ public class OrderService {
      * Helper method to update available centers list when an order is assigned
      */
     private void updateAvailableCentersIfOrderAssigned(ProcessedOrderDTO processedOrder,
-            List<Center> availableCenters) {
+            List<Center> availableCenters, UnaryOperator<Center> writable) {
         if (STATUS_ASSIGNED.equals(processedOrder.getStatus())) {
             for (Center center : availableCenters) {
                 if (center.getName().equals(processedOrder.getAssignedLogisticsCenter())) {
-                    center.setCurrentLoad(center.getCurrentLoad() + 1);
+                    Center updated = writable.apply(center);
+                    updated.setCurrentLoad(updated.getCurrentLoad() + 1);
                     break;
                 }
             }
         }
     }
 
+    /**
+     * Helper method to apply an override to a copy of the targeted center
+     */
+    private void applyOverride(List<Center> centers, CenterOverrideDTO override) {
+        for (int i = 0; i < centers.size(); i++) {
+            Center center = centers.get(i);
+            if (center.getId().equals(override.getCenterId())) {
+                Center copy = copyCenter(center);
+                if (override.getStatus() != null) {
+                    copy.setStatus(override.getStatus());
+                }
+                if (override.getCapacity() != null) {
+                    copy.setCapacity(override.getCapacity());
+                }
+                if (override.getMaxCapacity() != null) {
+                    copy.setMaxCapacity(override.getMaxCapacity());
+                }
+                if (override.getCurrentLoad() != null) {
+                    copy.setCurrentLoad(override.getCurrentLoad());
+                }
+                centers.set(i, copy);
+                return;
+            }
+        }
+
+        throw new CenterNotFoundException(override.getCenterId());
+    }
+
+    /**
+     * Helper method to copy the fields of a center used by the assignment
+     */
+    private static Center copyCenter(Center center) {
+        Center copy = new Center();
+        copy.setId(center.getId());
+        copy.setName(center.getName());
+        copy.setCapacity(center.getCapacity());
+        copy.setStatus(center.getStatus());
+        copy.setCurrentLoad(center.getCurrentLoad());
+        copy.setMaxCapacity(center.getMaxCapacity());
+        copy.setCoordinates(center.getCoordinates());
+        return copy;
+    }
+
     /**
      * Helper method to find centers compatible with an order
      */
@@ -258,15 +438,36 @@ public class OrderService {
     }
 
     /**
-     * Helper method to assign an order to a center
+     * Helper method to take room for an order in a center. The order itself
+     * is written with the rest of the run by {@link #updateAssignedOrders(Map)}.
      */
-    private void assignOrderToCenter(Order order, Center center) {
+    private void assignOrderToCenter(Center center) {
+        long changeSequence = dataVersionService.markChanged();
+        availabilitySummaryService.trackChange(center);
+
         center.setCurrentLoad(center.getCurrentLoad() + 1);
+        center.setChangeSequence(changeSequence);
         centerRepository.save(center);
+    }
+
+    /**
+     * Helper method to write the orders assigned by a run with one bulk update
+     * per center, so the statement count does not grow with the backlog
+     */
+    private void updateAssignedOrders(Map<String, List<Long>> assignedOrderIdsByCenter) {
+        if (assignedOrderIdsByCenter.isEmpty()) {
+            return;
+        }
 
-        order.setStatus(STATUS_ASSIGNED);
-        order.setAssignedCenter(center.getName());
-        orderRepository.save(order);
+        long changeSequence = dataVersionService.markChanged();
+        Instant assignedAt = Instant.now();
+        for (Map.Entry<String, List<Long>> entry : assignedOrderIdsByCenter.entrySet()) {
+            List<Long> ids = entry.getValue();
+            for (int from = 0; from < ids.size(); from += MAX_IDS_PER_UPDATE) {
+                orderRepository.assignToCenter(ids.subList(from, Math.min(from + MAX_IDS_PER_UPDATE, ids.size())),
+                        STATUS_ASSIGNED, entry.getKey(), assignedAt, changeSequence);
+            }
+        }
     }
 
     /**
@@ -281,4 +482,38 @@ public class OrderService {
             this.distance = distance;
         }
     }
+
+    /**
+     * Helper class to store the centers of a simulated run.
+     * Holds the loaded centers until one has to change, then replaces it with
+     * a copy in the same position.
+     */
+    private static class CenterSnapshot {
+        final List<Center> centers;
+        final Map<Center, Integer> positions = new IdentityHashMap<>();
+        final Set<Center> copies = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        CenterSnapshot(List<Center> centers) {
+            this.centers = centers;
+            for (int i = 0; i < centers.size(); i++) {
+                positions.put(centers.get(i), i);
+            }
+        }
+
+        /**
+         * Returns a center of the snapshot that can be modified
+         */
+        Center writable(Center center) {
+            if (copies.contains(center)) {
+                return center;
+            }
+
+            int position = positions.get(center);
+            Center copy = copyCenter(center);
+            centers.set(position, copy);
+            positions.put(copy, position);
+            copies.add(copy);
+            return copy;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.hackathon.inditex.Services;
+
+import com.hackathon.inditex.Config.SqlStatistics;
+import com.hackathon.inditex.DTO.SqlStatisticsDTO;
+import com.hackathon.inditex.DTO.SqlStatisticsReportDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Service class that keeps the SQL statistics of recent requests and
+ * operations for the debug endpoint.
+ */
+@Service
+public class SqlStatisticsService {
+
+    private final Deque<SqlStatisticsDTO> recent = new ArrayDeque<>();
+
+    private final Map<String, SqlStatisticsDTO> lastByOperation = new ConcurrentHashMap<>();
+
+    @Value("${sql.statistics.history-size:100}")
+    private int historySize;
+
+    /**
+     * Runs an operation and records the SQL work it did, including the flush
+     * and commit of its transaction
+     *
+     * @param operation Name to record the statistics under
+     * @param action    The operation to run
+     * @return The result of the operation
+     */
+    public <T> T measure(String operation, Supplier<T> action) {
+        try (SqlStatistics.Scope scope = SqlStatistics.start()) {
+            T result = action.get();
+            scope.close();
+            record(operation, scope);
+            return result;
+        }
+    }
+
+    /**
+     * Records the statistics of a finished scope
+     *
+     * @param operation Name to record the statistics under
+     * @param scope     The closed scope
+     */
+    public void record(String operation, SqlStatistics.Scope scope) {
+        SqlStatisticsDTO statistics = new SqlStatisticsDTO(
+                operation,
+                scope.getStatements(),
+                scope.getRoundTrips(),
+                scope.getRowsFetched(),
+                scope.getFlushes(),
+                scope.getJdbcNanos() / 1_000_000.0,
+                scope.getElapsedNanos() / 1_000_000.0);
+
+        lastByOperation.put(operation, statistics);
+        synchronized (recent) {
+            recent.addFirst(statistics);
+            while (recent.size() > historySize) {
+                recent.removeLast();
+            }
+        }
+    }
+
+    /**
+     * Returns the statistics of recent requests, newest first, and the latest
+     * of every operation
+     *
+     * @return The statistics report
+     */
+    public SqlStatisticsReportDTO getReport() {
+        synchronized (recent) {
+            return new SqlStatisticsReportDTO(new ArrayList<>(recent), new TreeMap<>(lastByOperation));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.hackathon.inditex.Services;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Helper for tying in-memory bookkeeping to the outcome of the surrounding
+ * transaction, so readers never observe state the database has not.
+ */
+final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    /**
+     * Runs the action after the current transaction commits, or immediately
+     * when there is no active transaction.
+     */
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Returns the value bound to the current transaction under the given key.
+     * On first use the value is created and the completion callback is
+     * registered; it receives the value and whether the transaction committed.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T transactionResource(Object key, Supplier<T> factory, BiConsumer<T, Boolean> onCompletion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Must be called within a transaction");
+        }
+
+        T existing = (T) TransactionSynchronizationManager.getResource(key);
+        if (existing != null) {
+            return existing;
+        }
+
+        T value = factory.get();
+        TransactionSynchronizationManager.bindResource(key, value);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(key);
+                onCompletion.accept(value, status == STATUS_COMMITTED);
+            }
+        });
+        return value;
+    }
+}
@@ -0,0 +1,265 @@
+package com.hackathon.inditex.Services;
+
+import com.hackathon.inditex.DTO.AssignationResponseDTO;
+import com.hackathon.inditex.DTO.CenterDTO;
+import com.hackathon.inditex.DTO.OrderRequestDTO;
+import com.hackathon.inditex.Entities.Center;
+import com.hackathon.inditex.Entities.Order;
+import com.hackathon.inditex.Repositories.CenterRepository;
+import com.hackathon.inditex.Repositories.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Service class that captures center and order writes and assignation runs
+ * to a binary workload log, for later replay with {@link WorkloadReplayService}.
+ * Capture is off unless workload.capture.file is set. The log starts with a
+ * snapshot of the existing centers and pending orders, so a replay starts
+ * from the same state. Calls are recorded once their transaction commits.
+ * Creations rejected by validation write nothing and are not recorded, but a
+ * center update is recorded even when validation rejects it, as the fields
+ * written before the check are committed. An existing log is never
+ * overwritten: a new one is started next to it with a numeric suffix.
+ */
+@Service
+public class WorkloadCaptureService {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkloadCaptureService.class);
+
+    private static final String STATUS_PENDING = "PENDING";
+
+    @Value("${workload.capture.file:}")
+    private String captureFile;
+
+    private volatile WorkloadLog.Writer writer;
+
+    private long startedAtNanos;
+
+    @Autowired
+    private CenterRepository centerRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    /**
+     * Opens a new capture log and writes the starting snapshot when capture
+     * is enabled
+     */
+    @PostConstruct
+    void open() {
+        if (captureFile.isBlank()) {
+            return;
+        }
+
+        Path path = nextCaptureFile();
+        try {
+            WorkloadLog.Writer logWriter = new WorkloadLog.Writer(new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE))));
+            startedAtNanos = System.nanoTime();
+            logWriter.writeHeader(System.currentTimeMillis());
+            writeSnapshot(logWriter);
+            logWriter.flush();
+            writer = logWriter;
+            log.info("Capturing workload to {}", path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open workload capture file " + path, e);
+        }
+    }
+
+    /**
+     * Flushes and closes the capture log
+     */
+    @PreDestroy
+    synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Could not close workload capture file", e);
+        }
+        writer = null;
+    }
+
+    /**
+     * Returns whether calls are being captured
+     */
+    public boolean isEnabled() {
+        return writer != null;
+    }
+
+    /**
+     * Records a created center
+     *
+     * @param centerId  The ID given to the center
+     * @param centerDTO The data it was created from
+     */
+    public void recordCreateCenter(Long centerId, CenterDTO centerDTO) {
+        recordCenter(WorkloadLog.CREATE_CENTER, centerId, centerDTO);
+    }
+
+    /**
+     * Records an updated center
+     *
+     * @param centerId  The ID of the center
+     * @param centerDTO The update that was applied
+     */
+    public void recordUpdateCenter(Long centerId, CenterDTO centerDTO) {
+        recordCenter(WorkloadLog.UPDATE_CENTER, centerId, centerDTO);
+    }
+
+    /**
+     * Records a deleted center
+     *
+     * @param centerId The ID of the center
+     */
+    public void recordDeleteCenter(Long centerId) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        WorkloadLog.Entry entry = newEntry(WorkloadLog.DELETE_CENTER, centerId);
+        TransactionHooks.afterCommit(() -> append(entry));
+    }
+
+    /**
+     * Records a created order
+     *
+     * @param orderId         The ID given to the order
+     * @param orderRequestDTO The data it was created from
+     */
+    public void recordCreateOrder(Long orderId, OrderRequestDTO orderRequestDTO) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        WorkloadLog.Entry entry = newEntry(WorkloadLog.CREATE_ORDER, orderId);
+        entry.order = orderRequestDTO;
+        TransactionHooks.afterCommit(() -> append(entry));
+    }
+
+    /**
+     * Records an assignation run together with its outcome, so a replay can
+     * check it produces the same assignments
+     *
+     * @param response The result of the run
+     */
+    public void recordAssignation(AssignationResponseDTO response) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        WorkloadLog.Entry entry = newEntry(WorkloadLog.ASSIGN_ORDERS, 0L);
+        entry.outcome = new ArrayList<>(response.getProcessedOrders());
+        TransactionHooks.afterCommit(() -> {
+            append(entry);
+            flush();
+        });
+    }
+
+    /**
+     * Helper method to find the first capture file name not in use
+     */
+    private Path nextCaptureFile() {
+        Path path = Path.of(captureFile);
+        for (int suffix = 1; Files.exists(path); suffix++) {
+            path = Path.of(captureFile + "." + suffix);
+        }
+        return path;
+    }
+
+    /**
+     * Helper method to write the centers and pending orders that exist when
+     * capture starts, in ID order
+     */
+    private void writeSnapshot(WorkloadLog.Writer logWriter) throws IOException {
+        for (Center center : centerRepository.findAll(Sort.by("id"))) {
+            WorkloadLog.Entry entry = newEntry(WorkloadLog.SNAPSHOT_CENTER, center.getId());
+            entry.center = new CenterDTO(center.getName(), center.getCapacity(), center.getStatus(),
+                    center.getMaxCapacity(), center.getCurrentLoad(), center.getCoordinates());
+            logWriter.write(entry);
+        }
+
+        List<Order> pendingOrders = orderRepository.findByStatus(STATUS_PENDING);
+        pendingOrders.sort(Comparator.comparing(Order::getId));
+        for (Order order : pendingOrders) {
+            WorkloadLog.Entry entry = newEntry(WorkloadLog.SNAPSHOT_ORDER, order.getId());
+            entry.order = new OrderRequestDTO(order.getCustomerId(), order.getSize(), order.getCoordinates());
+            logWriter.write(entry);
+        }
+    }
+
+    /**
+     * Helper method to record a center write
+     */
+    private void recordCenter(byte type, Long centerId, CenterDTO centerDTO) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        WorkloadLog.Entry entry = newEntry(type, centerId);
+        entry.center = centerDTO;
+        TransactionHooks.afterCommit(() -> append(entry));
+    }
+
+    /**
+     * Helper method to create an entry stamped with the current time
+     */
+    private WorkloadLog.Entry newEntry(byte type, Long id) {
+        WorkloadLog.Entry entry = new WorkloadLog.Entry();
+        entry.type = type;
+        entry.offsetNanos = System.nanoTime() - startedAtNanos;
+        entry.id = id;
+        return entry;
+    }
+
+    /**
+     * Helper method to append an entry to the log
+     */
+    private synchronized void append(WorkloadLog.Entry entry) {
+        if (writer == null) {
+            return;
+        }
+
+        try {
+            writer.write(entry);
+        } catch (IOException e) {
+            log.warn("Could not write to workload capture file, stopping capture", e);
+            writer = null;
+        }
+    }
+
+    /**
+     * Helper method to flush the buffered entries
+     */
+    private synchronized void flush() {
+        if (writer == null) {
+            return;
+        }
+
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            log.warn("Could not flush workload capture file", e);
+        }
+    }
+}
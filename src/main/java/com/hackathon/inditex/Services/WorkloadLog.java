@@ -0,0 +1,300 @@
+package com.hackathon.inditex.Services;
+
+import com.hackathon.inditex.DTO.CenterDTO;
+import com.hackathon.inditex.DTO.OrderRequestDTO;
+import com.hackathon.inditex.DTO.ProcessedOrderDTO;
+import com.hackathon.inditex.Entities.Coordinates;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary format of captured workload logs.
+ * A log is a header, a snapshot of the centers and pending orders that
+ * existed when capture started, and then one record per captured call. Each
+ * record starts with its type and the nanoseconds elapsed since capture
+ * started; nullable fields are prefixed with a presence flag.
+ */
+final class WorkloadLog {
+
+    // "IWL1"
+    static final int MAGIC = 0x49574C31;
+
+    static final byte CREATE_CENTER = 1;
+    static final byte UPDATE_CENTER = 2;
+    static final byte DELETE_CENTER = 3;
+    static final byte CREATE_ORDER = 4;
+    static final byte ASSIGN_ORDERS = 5;
+    static final byte SNAPSHOT_CENTER = 6;
+    static final byte SNAPSHOT_ORDER = 7;
+
+    private WorkloadLog() {
+    }
+
+    /**
+     * Returns a readable name for a record type
+     */
+    static String operationName(byte type) {
+        switch (type) {
+            case CREATE_CENTER:
+                return "createCenter";
+            case UPDATE_CENTER:
+                return "updateCenter";
+            case DELETE_CENTER:
+                return "deleteCenter";
+            case CREATE_ORDER:
+                return "createOrder";
+            case ASSIGN_ORDERS:
+                return "assignOrdersToCenters";
+            case SNAPSHOT_CENTER:
+                return "snapshotCenter";
+            case SNAPSHOT_ORDER:
+                return "snapshotOrder";
+            default:
+                return "unknown";
+        }
+    }
+
+    /**
+     * Returns whether a record type describes the state at capture start
+     * rather than a captured call
+     */
+    static boolean isSnapshot(byte type) {
+        return type == SNAPSHOT_CENTER || type == SNAPSHOT_ORDER;
+    }
+
+    /**
+     * A single captured call, or an entity of the starting snapshot.
+     * The ID is the one the captured instance gave the created or targeted
+     * entity; the outcome is only present for assignation runs.
+     */
+    static class Entry {
+        byte type;
+        long offsetNanos;
+        long id;
+        CenterDTO center;
+        OrderRequestDTO order;
+        List<ProcessedOrderDTO> outcome;
+    }
+
+    /**
+     * Writes a header and entries to a stream
+     */
+    static class Writer {
+        private final DataOutputStream out;
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeHeader(long startedAtMillis) throws IOException {
+            out.writeInt(MAGIC);
+            out.writeLong(startedAtMillis);
+        }
+
+        void write(Entry entry) throws IOException {
+            out.writeByte(entry.type);
+            out.writeLong(entry.offsetNanos);
+            out.writeLong(entry.id);
+
+            switch (entry.type) {
+                case CREATE_CENTER:
+                case UPDATE_CENTER:
+                case SNAPSHOT_CENTER:
+                    writeCenter(entry.center);
+                    break;
+                case CREATE_ORDER:
+                case SNAPSHOT_ORDER:
+                    writeOrder(entry.order);
+                    break;
+                case ASSIGN_ORDERS:
+                    writeOutcome(entry.outcome);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        void flush() throws IOException {
+            out.flush();
+        }
+
+        void close() throws IOException {
+            out.close();
+        }
+
+        private void writeCenter(CenterDTO center) throws IOException {
+            writeString(center.getName());
+            writeString(center.getCapacity());
+            writeString(center.getStatus());
+            writeInteger(center.getMaxCapacity());
+            writeInteger(center.getCurrentLoad());
+            writeCoordinates(center.getCoordinates());
+        }
+
+        private void writeOrder(OrderRequestDTO order) throws IOException {
+            out.writeBoolean(order.getCustomerId() != null);
+            if (order.getCustomerId() != null) {
+                out.writeLong(order.getCustomerId());
+            }
+            writeString(order.getSize());
+            writeCoordinates(order.getCoordinates());
+        }
+
+        private void writeOutcome(List<ProcessedOrderDTO> outcome) throws IOException {
+            out.writeInt(outcome.size());
+            for (ProcessedOrderDTO processedOrder : outcome) {
+                out.writeLong(processedOrder.getOrderId());
+                writeString(processedOrder.getStatus());
+                writeString(processedOrder.getAssignedLogisticsCenter());
+                writeString(processedOrder.getMessage());
+                writeDouble(processedOrder.getDistance());
+            }
+        }
+
+        private void writeCoordinates(Coordinates coordinates) throws IOException {
+            out.writeBoolean(coordinates != null);
+            if (coordinates != null) {
+                writeDouble(coordinates.getLatitude());
+                writeDouble(coordinates.getLongitude());
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeUTF(value);
+            }
+        }
+
+        private void writeInteger(Integer value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeInt(value);
+            }
+        }
+
+        private void writeDouble(Double value) throws IOException {
+            out.writeBoolean(value != null);
+            if (value != null) {
+                out.writeDouble(value);
+            }
+        }
+    }
+
+    /**
+     * Reads a header and entries from a stream
+     */
+    static class Reader {
+        private final DataInputStream in;
+
+        Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        /**
+         * Reads and validates the header
+         *
+         * @return The wall clock time the capture started at
+         */
+        long readHeader() throws IOException {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a workload log");
+            }
+            return in.readLong();
+        }
+
+        /**
+         * Reads the next entry
+         *
+         * @return The entry, or null at the end of the log
+         */
+        Entry next() throws IOException {
+            Entry entry = new Entry();
+            try {
+                entry.type = in.readByte();
+            } catch (EOFException e) {
+                return null;
+            }
+            entry.offsetNanos = in.readLong();
+            entry.id = in.readLong();
+
+            switch (entry.type) {
+                case CREATE_CENTER:
+                case UPDATE_CENTER:
+                case SNAPSHOT_CENTER:
+                    entry.center = readCenter();
+                    break;
+                case CREATE_ORDER:
+                case SNAPSHOT_ORDER:
+                    entry.order = readOrder();
+                    break;
+                case ASSIGN_ORDERS:
+                    entry.outcome = readOutcome();
+                    break;
+                case DELETE_CENTER:
+                    break;
+                default:
+                    throw new IOException("Unknown record type " + entry.type);
+            }
+            return entry;
+        }
+
+        private CenterDTO readCenter() throws IOException {
+            CenterDTO center = new CenterDTO();
+            center.setName(readString());
+            center.setCapacity(readString());
+            center.setStatus(readString());
+            center.setMaxCapacity(readInteger());
+            center.setCurrentLoad(readInteger());
+            center.setCoordinates(readCoordinates());
+            return center;
+        }
+
+        private OrderRequestDTO readOrder() throws IOException {
+            OrderRequestDTO order = new OrderRequestDTO();
+            order.setCustomerId(in.readBoolean() ? in.readLong() : null);
+            order.setSize(readString());
+            order.setCoordinates(readCoordinates());
+            return order;
+        }
+
+        private List<ProcessedOrderDTO> readOutcome() throws IOException {
+            int count = in.readInt();
+            List<ProcessedOrderDTO> outcome = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ProcessedOrderDTO processedOrder = new ProcessedOrderDTO();
+                processedOrder.setOrderId(in.readLong());
+                processedOrder.setStatus(readString());
+                processedOrder.setAssignedLogisticsCenter(readString());
+                processedOrder.setMessage(readString());
+                processedOrder.setDistance(readDouble());
+                outcome.add(processedOrder);
+            }
+            return outcome;
+        }
+
+        private Coordinates readCoordinates() throws IOException {
+            if (!in.readBoolean()) {
+                return null;
+            }
+            return new Coordinates(readDouble(), readDouble());
+        }
+
+        private String readString() throws IOException {
+            return in.readBoolean() ? in.readUTF() : null;
+        }
+
+        private Integer readInteger() throws IOException {
+            return in.readBoolean() ? in.readInt() : null;
+        }
+
+        private Double readDouble() throws IOException {
+            return in.readBoolean() ? in.readDouble() : null;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.hackathon.inditex.Services;
+
+import com.hackathon.inditex.DTO.AssignationResponseDTO;
+import com.hackathon.inditex.DTO.CenterResponseDTO;
+import com.hackathon.inditex.DTO.OperationLatencyDTO;
+import com.hackathon.inditex.DTO.ProcessedOrderDTO;
+import com.hackathon.inditex.DTO.ReplayReportDTO;
+import com.hackathon.inditex.Repositories.CenterRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class that replays a workload log captured by
+ * {@link WorkloadCaptureService} directly against {@link CenterService} and
+ * {@link OrderService}.
+ * Reports the latency of each kind of operation and checks that every
+ * assignation run produces the same outcome as when it was captured. Meant
+ * to be run against an empty local database: the centers and pending orders
+ * of the starting snapshot are recreated first, outside the measurements,
+ * and IDs given by the replay are mapped to the captured ones.
+ */
+@Service
+public class WorkloadReplayService {
+
+    private static final String CENTER_CREATED = "Logistics center created successfully.";
+
+    // Keeps the report readable when a whole run diverges
+    private static final int MAX_MISMATCH_DETAILS = 100;
+
+    @Autowired
+    private CenterService centerService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CenterRepository centerRepository;
+
+    /**
+     * Replays a workload log
+     *
+     * @param file  Path of the captured log
+     * @param speed 1 for the recorded pace, higher to accelerate, 0 for no pauses
+     * @return Latency per operation and any assignment mismatches
+     * @throws IOException If the log cannot be read
+     */
+    public ReplayReportDTO replay(String file, double speed) throws IOException {
+        Map<Long, Long> centerIds = new HashMap<>();
+        Map<Long, Long> orderIds = new HashMap<>();
+        Map<String, List<Long>> latencies = new LinkedHashMap<>();
+        List<String> mismatchDetails = new ArrayList<>();
+        int operations = 0;
+        int assignationRuns = 0;
+        int mismatches = 0;
+
+        long startedAt = System.nanoTime();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(Path.of(file))))) {
+            WorkloadLog.Reader reader = new WorkloadLog.Reader(in);
+            reader.readHeader();
+
+            WorkloadLog.Entry entry;
+            while ((entry = reader.next()) != null) {
+                if (WorkloadLog.isSnapshot(entry.type)) {
+                    restore(entry, centerIds, orderIds);
+                    startedAt = System.nanoTime();
+                    continue;
+                }
+
+                if ((entry.type == WorkloadLog.UPDATE_CENTER || entry.type == WorkloadLog.DELETE_CENTER)
+                        && !centerIds.containsKey(entry.id)) {
+                    // Applying it to whatever center has that ID here would be meaningless
+                    mismatches++;
+                    if (mismatchDetails.size() < MAX_MISMATCH_DETAILS) {
+                        mismatchDetails.add(WorkloadLog.operationName(entry.type) + " of center " + entry.id
+                                + " skipped, it is not in the capture");
+                    }
+                    continue;
+                }
+
+                waitUntil(startedAt, entry.offsetNanos, speed);
+
+                long operationStart = System.nanoTime();
+                AssignationResponseDTO assignation = apply(entry, centerIds, orderIds);
+                long latency = System.nanoTime() - operationStart;
+
+                latencies.computeIfAbsent(WorkloadLog.operationName(entry.type), name -> new ArrayList<>())
+                        .add(latency);
+                operations++;
+
+                if (assignation != null) {
+                    assignationRuns++;
+                    List<String> differences = compareOutcome(entry.outcome, assignation.getProcessedOrders(), orderIds);
+                    mismatches += differences.size();
+                    for (String difference : differences) {
+                        if (mismatchDetails.size() < MAX_MISMATCH_DETAILS) {
+                            mismatchDetails.add("Assignation run " + assignationRuns + ": " + difference);
+                        }
+                    }
+                }
+            }
+        }
+
+        List<OperationLatencyDTO> latencyReport = new ArrayList<>();
+        latencies.forEach((operation, samples) -> latencyReport.add(summarize(operation, samples)));
+
+        return new ReplayReportDTO(operations, toMillis(System.nanoTime() - startedAt), latencyReport,
+                assignationRuns, mismatches, mismatchDetails);
+    }
+
+    /**
+     * Helper method to run a single captured call against the services
+     *
+     * @return The result of the call if it was an assignation run, null otherwise
+     */
+    private AssignationResponseDTO apply(WorkloadLog.Entry entry, Map<Long, Long> centerIds,
+            Map<Long, Long> orderIds) {
+        switch (entry.type) {
+            case WorkloadLog.CREATE_CENTER:
+                CenterResponseDTO created = centerService.createCenter(entry.center);
+                if (CENTER_CREATED.equals(created.getMessage())) {
+                    centerRepository.findByCoordinatesLatitudeAndCoordinatesLongitude(
+                            entry.center.getCoordinates().getLatitude(),
+                            entry.center.getCoordinates().getLongitude())
+                            .ifPresent(center -> centerIds.put(entry.id, center.getId()));
+                }
+                return null;
+            case WorkloadLog.UPDATE_CENTER:
+                centerService.updateCenter(centerIds.get(entry.id), entry.center);
+                return null;
+            case WorkloadLog.DELETE_CENTER:
+                centerService.deleteCenter(centerIds.get(entry.id));
+                return null;
+            case WorkloadLog.CREATE_ORDER:
+                orderIds.put(entry.id, orderService.createOrder(entry.order).getOrderId());
+                return null;
+            case WorkloadLog.ASSIGN_ORDERS:
+                return orderService.assignOrdersToCenters();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Helper method to recreate an entity of the starting snapshot
+     */
+    private void restore(WorkloadLog.Entry entry, Map<Long, Long> centerIds, Map<Long, Long> orderIds) {
+        if (entry.type == WorkloadLog.SNAPSHOT_CENTER) {
+            centerIds.put(entry.id, centerService.restoreCenter(entry.center));
+        } else {
+            orderIds.put(entry.id, orderService.createOrder(entry.order).getOrderId());
+        }
+    }
+
+    /**
+     * Helper method to compare a replayed assignation run with the captured one
+     *
+     * @return A description of each order whose outcome differs
+     */
+    private List<String> compareOutcome(List<ProcessedOrderDTO> recorded, List<ProcessedOrderDTO> replayed,
+            Map<Long, Long> orderIds) {
+        Map<Long, ProcessedOrderDTO> replayedById = new HashMap<>();
+        for (ProcessedOrderDTO processedOrder : replayed) {
+            replayedById.put(processedOrder.getOrderId(), processedOrder);
+        }
+
+        List<String> differences = new ArrayList<>();
+        for (ProcessedOrderDTO expected : recorded) {
+            Long replayedId = orderIds.getOrDefault(expected.getOrderId(), expected.getOrderId());
+            ProcessedOrderDTO actual = replayedById.remove(replayedId);
+
+            if (actual == null) {
+                differences.add("order " + expected.getOrderId() + " was not processed");
+            } else if (!sameOutcome(expected, actual)) {
+                differences.add("order " + expected.getOrderId() + " expected " + describe(expected)
+                        + " but was " + describe(actual));
+            }
+        }
+        for (ProcessedOrderDTO unexpected : replayedById.values()) {
+            differences.add("replayed order " + unexpected.getOrderId() + " was not processed when captured");
+        }
+        return differences;
+    }
+
+    /**
+     * Helper method to check two processed orders have the same outcome
+     */
+    private boolean sameOutcome(ProcessedOrderDTO expected, ProcessedOrderDTO actual) {
+        return Objects.equals(expected.getStatus(), actual.getStatus())
+                && Objects.equals(expected.getAssignedLogisticsCenter(), actual.getAssignedLogisticsCenter())
+                && Objects.equals(expected.getMessage(), actual.getMessage())
+                && Objects.equals(expected.getDistance(), actual.getDistance());
+    }
+
+    /**
+     * Helper method to describe the outcome of a processed order
+     */
+    private String describe(ProcessedOrderDTO processedOrder) {
+        return processedOrder.getStatus() + " at " + processedOrder.getAssignedLogisticsCenter()
+                + " (" + processedOrder.getDistance() + " km, " + processedOrder.getMessage() + ")";
+    }
+
+    /**
+     * Helper method to pace the replay at the requested speed
+     */
+    private void waitUntil(long startedAt, long offsetNanos, double speed) {
+        if (speed <= 0) {
+            return;
+        }
+
+        long remaining = startedAt + (long) (offsetNanos / speed) - System.nanoTime();
+        if (remaining > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Helper method to build the latency summary of one operation
+     */
+    private OperationLatencyDTO summarize(String operation, List<Long> samples) {
+        long[] sorted = samples.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+
+        return new OperationLatencyDTO(
+                operation,
+                sorted.length,
+                toMillis((long) Arrays.stream(sorted).average().orElse(0)),
+                toMillis(percentile(sorted, 0.50)),
+                toMillis(percentile(sorted, 0.95)),
+                toMillis(percentile(sorted, 0.99)),
+                toMillis(sorted[sorted.length - 1]));
+    }
+
+    /**
+     * Helper method to pick a percentile from sorted samples
+     */
+    private long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    /**
+     * Helper method to convert nanoseconds to milliseconds
+     */
+    private double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,54 @@
+package com.hackathon.inditex;
+
+import com.hackathon.inditex.Config.SqlStatistics;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Test utility that fails when a piece of code runs more SQL statements than
+ * its declared budget, e.g.
+ * {@code QueryBudget.assertAtMost(4, orderService::assignOrdersToCenters)}.
+ * Call it from outside the transaction under test so statements flushed at
+ * commit are counted too.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    /**
+     * Runs the action and fails if it executed more statements than allowed
+     *
+     * @param maxStatements The statement budget
+     * @param action        The code under test
+     * @return The result of the action
+     */
+    public static <T> T assertAtMost(long maxStatements, Supplier<T> action) {
+        T result;
+        long statements;
+        try (SqlStatistics.Scope scope = SqlStatistics.start()) {
+            result = action.get();
+            statements = scope.getStatements();
+        }
+
+        if (statements > maxStatements) {
+            fail("Expected at most " + maxStatements + " SQL statements but " + statements + " were executed");
+        }
+        return result;
+    }
+
+    /**
+     * Runs the action and fails if it executed more statements than allowed
+     *
+     * @param maxStatements The statement budget
+     * @param action        The code under test
+     */
+    public static void assertAtMost(long maxStatements, Runnable action) {
+        assertAtMost(maxStatements, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
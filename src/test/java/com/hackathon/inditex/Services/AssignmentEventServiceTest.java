@@ -0,0 +1,112 @@
+package com.hackathon.inditex.Services;
+
+import com.hackathon.inditex.DTO.ProcessedOrderDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AssignmentEventServiceTest {
+
+    private final AssignmentEventService assignmentEventService = new AssignmentEventService();
+
+    // Keeps the dispatcher busy, so buffered events are not sent while the test runs
+    private final CountDownLatch senderBlocked = new CountDownLatch(1);
+
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor();
+
+    @BeforeEach
+    void setUp() {
+        DataVersionService dataVersionService = new DataVersionService();
+        ReflectionTestUtils.setField(dataVersionService, "blockSize", 1000);
+        ReflectionTestUtils.setField(dataVersionService, "reservedUpTo", 1000L);
+
+        ReflectionTestUtils.setField(assignmentEventService, "dataVersionService", dataVersionService);
+        ReflectionTestUtils.setField(assignmentEventService, "bufferSize", 2);
+        ReflectionTestUtils.setField(assignmentEventService, "dispatcher", dispatcher);
+        dispatcher.submit(() -> {
+            senderBlocked.await();
+            return null;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        senderBlocked.countDown();
+        dispatcher.shutdownNow();
+    }
+
+    @Test
+    void keepsSubscriberWhileBufferHasRoom() {
+        assignmentEventService.subscribe();
+
+        inTransaction(true, () -> recordAssignments(2));
+
+        assertEquals(1, subscribers().size());
+    }
+
+    @Test
+    void dropsSubscriberOnceBufferIsFull() {
+        assignmentEventService.subscribe();
+
+        inTransaction(true, () -> recordAssignments(3));
+
+        assertEquals(0, subscribers().size());
+    }
+
+    @Test
+    void discardsAssignmentsThatRollBack() {
+        assignmentEventService.subscribe();
+
+        inTransaction(false, () -> recordAssignments(3));
+
+        assertEquals(1, subscribers().size());
+    }
+
+    /**
+     * Helper method to record assigned orders in the current transaction
+     */
+    private void recordAssignments(int count) {
+        for (long orderId = 1; orderId <= count; orderId++) {
+            assignmentEventService.recordAssignment(new ProcessedOrderDTO(1.0, orderId, "North", null, "ASSIGNED"));
+        }
+    }
+
+    /**
+     * Helper method to read the subscribers still registered
+     */
+    private Set<?> subscribers() {
+        return (Set<?>) ReflectionTestUtils.getField(assignmentEventService, "subscribers");
+    }
+
+    /**
+     * Helper method to run code with transaction synchronization active and
+     * then complete it as committed or rolled back
+     */
+    private void inTransaction(boolean commit, Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (commit) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            int status = commit ? TransactionSynchronization.STATUS_COMMITTED
+                    : TransactionSynchronization.STATUS_ROLLED_BACK;
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.hackathon.inditex.Services;
+
+import com.hackathon.inditex.Entities.Center;
+import com.hackathon.inditex.Entities.Coordinates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AvailabilitySummaryServiceTest {
+
+    private final AvailabilitySummaryService availabilitySummaryService = new AvailabilitySummaryService();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(availabilitySummaryService, "cellSizeDegrees", 1.0);
+    }
+
+    @Test
+    void keepsNewerStateWhenCommitHooksRunOutOfOrder() {
+        commit(center(0, 1));
+
+        List<TransactionSynchronization> older = track(center(2, 2), false);
+        List<TransactionSynchronization> newer = track(center(5, 3), false);
+        complete(newer);
+        complete(older);
+
+        assertEquals(5, remaining("M"));
+    }
+
+    @Test
+    void keepsDeletedCenterOutOfCounters() {
+        commit(center(0, 1));
+
+        List<TransactionSynchronization> update = track(center(2, 2), false);
+        complete(track(center(0, 3), true));
+        complete(update);
+
+        assertEquals(0, remaining("M"));
+    }
+
+    /**
+     * Helper method to build the committed state of the same center
+     */
+    private Center center(int currentLoad, long changeSequence) {
+        Center center = new Center();
+        center.setId(1L);
+        center.setName("North");
+        center.setCapacity("M");
+        center.setStatus("AVAILABLE");
+        center.setMaxCapacity(10);
+        center.setCurrentLoad(currentLoad);
+        center.setCoordinates(new Coordinates(40.0, -3.0));
+        center.setChangeSequence(changeSequence);
+        return center;
+    }
+
+    /**
+     * Helper method to read the remaining capacity of a size class
+     */
+    private long remaining(String size) {
+        return availabilitySummaryService.getSummary().getRemainingCapacity().getOrDefault(size, 0L);
+    }
+
+    /**
+     * Helper method to commit a change of a center right away
+     */
+    private void commit(Center center) {
+        complete(track(center, false));
+    }
+
+    /**
+     * Helper method to register a center change in a transaction and suspend
+     * it, so its commit hooks can run in any order
+     */
+    private List<TransactionSynchronization> track(Center center, boolean deleted) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            if (deleted) {
+                availabilitySummaryService.trackDeletion(center);
+            } else {
+                availabilitySummaryService.trackChange(center);
+            }
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.unbindResourceIfPossible(availabilitySummaryService);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Helper method to complete a suspended transaction as committed
+     */
+    private void complete(List<TransactionSynchronization> synchronizations) {
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(
+                TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
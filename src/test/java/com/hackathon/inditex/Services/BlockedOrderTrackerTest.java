@@ -0,0 +1,117 @@
+package com.hackathon.inditex.Services;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BlockedOrderTrackerTest {
+
+    private static final String NO_CENTERS = "No available centers support the order type.";
+    private static final String AT_CAPACITY = "All centers are at maximum capacity.";
+
+    private final BlockedOrderTracker tracker = new BlockedOrderTracker();
+
+    @Test
+    void reevaluatesOrderOnceCapacityChangeCommits() {
+        recordBlocked(1L, "M", AT_CAPACITY);
+        assertEquals(AT_CAPACITY, tracker.getBlockedReason(1L, "M", tracker.snapshotVersions()));
+
+        // Not visible until the change commits
+        inTransaction(true, () -> {
+            tracker.markCapacityChanged("MS");
+            assertEquals(AT_CAPACITY, tracker.getBlockedReason(1L, "M", tracker.snapshotVersions()));
+        });
+
+        assertNull(tracker.getBlockedReason(1L, "M", tracker.snapshotVersions()));
+    }
+
+    @Test
+    void ignoresCapacityChangesThatRollBack() {
+        recordBlocked(1L, "M", AT_CAPACITY);
+
+        inTransaction(false, () -> tracker.markCapacityChanged("M"));
+
+        assertEquals(AT_CAPACITY, tracker.getBlockedReason(1L, "M", tracker.snapshotVersions()));
+    }
+
+    @Test
+    void discardsOutcomesOfRunsThatRollBack() {
+        Map<Character, Long> versions = tracker.snapshotVersions();
+
+        inTransaction(false, () -> tracker.recordRun(
+                Map.of(1L, new BlockedOrderTracker.BlockedOrder("M", AT_CAPACITY)), List.of(), versions));
+
+        assertNull(tracker.getBlockedReason(1L, "M", tracker.snapshotVersions()));
+    }
+
+    @Test
+    void reevaluatesOrderWithoutSupportingCentersAfterStatusChange() {
+        recordBlocked(1L, "B", NO_CENTERS);
+
+        // A center of another size changing status leaves the order blocked
+        inTransaction(true, () -> tracker.markCapacityChanged("S", "S"));
+        assertEquals(NO_CENTERS, tracker.getBlockedReason(1L, "B", tracker.snapshotVersions()));
+
+        // A "BM" center going from OUT_OF_SERVICE to AVAILABLE, as reported by CenterService
+        inTransaction(true, () -> tracker.markCapacityChanged("BM", "BM"));
+        assertNull(tracker.getBlockedReason(1L, "B", tracker.snapshotVersions()));
+    }
+
+    @Test
+    void reevaluatesOrderWhenCapacityChangesDuringTheRun() {
+        Map<Character, Long> versions = tracker.snapshotVersions();
+
+        // Committed after the run read the centers but before the run itself
+        inTransaction(true, () -> tracker.markCapacityChanged("M"));
+        inTransaction(true, () -> tracker.recordRun(
+                Map.of(1L, new BlockedOrderTracker.BlockedOrder("M", AT_CAPACITY)), List.of(), versions));
+
+        assertNull(tracker.getBlockedReason(1L, "M", tracker.snapshotVersions()));
+    }
+
+    @Test
+    void forgetsOrdersOnceAssigned() {
+        recordBlocked(1L, "M", AT_CAPACITY);
+
+        Map<Character, Long> versions = tracker.snapshotVersions();
+        inTransaction(true, () -> tracker.recordRun(Map.of(), List.of(1L), versions));
+
+        assertNull(tracker.getBlockedReason(1L, "M", tracker.snapshotVersions()));
+    }
+
+    /**
+     * Helper method to record a committed run that left one order blocked
+     */
+    private void recordBlocked(Long orderId, String size, String reason) {
+        Map<Character, Long> versions = tracker.snapshotVersions();
+        inTransaction(true, () -> tracker.recordRun(
+                Map.of(orderId, new BlockedOrderTracker.BlockedOrder(size, reason)), List.of(), versions));
+    }
+
+    /**
+     * Helper method to run code with transaction synchronization active and
+     * then complete it as committed or rolled back
+     */
+    private void inTransaction(boolean commit, Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            if (commit) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            int status = commit ? TransactionSynchronization.STATUS_COMMITTED
+                    : TransactionSynchronization.STATUS_ROLLED_BACK;
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.hackathon.inditex.Services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DataVersionServiceTest {
+
+    private final DataVersionService dataVersionService = new DataVersionService();
+
+    @BeforeEach
+    void reserveSequences() {
+        // Stands in for the block reserved at startup, far from running out
+        ReflectionTestUtils.setField(dataVersionService, "blockSize", 1000);
+        ReflectionTestUtils.setField(dataVersionService, "reservedUpTo", 1000L);
+    }
+
+    @Test
+    void reusesSequenceWithinTransaction() {
+        Transaction transaction = begin();
+        Transaction same = resume(transaction);
+        assertEquals(transaction.sequence, same.sequence);
+        complete(transaction, true);
+
+        assertEquals(1, dataVersionService.getCurrentVersion());
+    }
+
+    @Test
+    void holdsVersionUntilEarlierTransactionsFinish() {
+        Transaction first = begin();
+        Transaction second = begin();
+        assertEquals(1, first.sequence);
+        assertEquals(2, second.sequence);
+
+        // Readers must not skip past sequence 1 while it can still commit
+        complete(second, true);
+        assertEquals(0, dataVersionService.getCurrentVersion());
+
+        complete(first, true);
+        assertEquals(2, dataVersionService.getCurrentVersion());
+    }
+
+    @Test
+    void releasesSequencesOfTransactionsThatRollBack() {
+        Transaction first = begin();
+        Transaction second = begin();
+
+        // Nothing was stamped with sequence 1, only sequence 2 holds the version back
+        complete(first, false);
+        assertEquals(1, dataVersionService.getCurrentVersion());
+
+        complete(second, false);
+        assertEquals(2, dataVersionService.getCurrentVersion());
+
+        Transaction third = begin();
+        assertEquals(3, third.sequence);
+        complete(third, true);
+        assertEquals(3, dataVersionService.getCurrentVersion());
+    }
+
+    /**
+     * Helper method to start a transaction that marks a change and suspend it,
+     * so other transactions can run on the same thread before it completes
+     */
+    private Transaction begin() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            long sequence = dataVersionService.markChanged();
+            return new Transaction(sequence, TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.unbindResourceIfPossible(dataVersionService);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Helper method to mark another change in a suspended transaction
+     */
+    private Transaction resume(Transaction transaction) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.bindResource(dataVersionService, transaction.sequence);
+        try {
+            return new Transaction(dataVersionService.markChanged(), transaction.synchronizations);
+        } finally {
+            TransactionSynchronizationManager.unbindResourceIfPossible(dataVersionService);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Helper method to complete a suspended transaction as committed or rolled back
+     */
+    private void complete(Transaction transaction, boolean commit) {
+        if (commit) {
+            transaction.synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        int status = commit ? TransactionSynchronization.STATUS_COMMITTED
+                : TransactionSynchronization.STATUS_ROLLED_BACK;
+        transaction.synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    /**
+     * Helper class to store a suspended transaction with its change sequence
+     */
+    private static class Transaction {
+        final long sequence;
+        final List<TransactionSynchronization> synchronizations;
+
+        Transaction(long sequence, List<TransactionSynchronization> synchronizations) {
+            this.sequence = sequence;
+            this.synchronizations = synchronizations;
+        }
+    }
+}
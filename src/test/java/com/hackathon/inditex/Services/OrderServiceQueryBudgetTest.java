@@ -0,0 +1,78 @@
+package com.hackathon.inditex.Services;
+
+import com.hackathon.inditex.DTO.AssignationResponseDTO;
+import com.hackathon.inditex.DTO.CenterDTO;
+import com.hackathon.inditex.DTO.OrderRequestDTO;
+import com.hackathon.inditex.Entities.Coordinates;
+import com.hackathon.inditex.QueryBudget;
+import com.hackathon.inditex.Repositories.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that an assignation run executes the same number of statements no
+ * matter how many orders are pending. Runs against an in-memory H2 database.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-budget;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "orders.archive.enabled=false",
+        "sql.statistics.enabled=true"
+})
+class OrderServiceQueryBudgetTest {
+
+    // Pending orders and centers are read once, each of the two centers is
+    // updated once in a single batch, and the orders assigned to each center
+    // are written with one bulk update
+    private static final long ASSIGNATION_BUDGET = 6;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CenterService centerService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void assignationRunStaysWithinFixedBudget() {
+        createCenter("North", 40.0, -3.0);
+        createCenter("South", 37.0, -6.0);
+
+        for (int backlog : new int[] { 10, 1500 }) {
+            createOrders(backlog);
+
+            AssignationResponseDTO response = QueryBudget.assertAtMost(ASSIGNATION_BUDGET,
+                    orderService::assignOrdersToCenters);
+
+            long assigned = response.getProcessedOrders().stream()
+                    .filter(processedOrder -> "ASSIGNED".equals(processedOrder.getStatus()))
+                    .count();
+            assertEquals(backlog, assigned);
+            assertEquals(0, orderRepository.findByStatus("PENDING").size());
+        }
+    }
+
+    /**
+     * Helper method to create a center with room for every order of the test
+     */
+    private void createCenter(String name, double latitude, double longitude) {
+        centerService.createCenter(new CenterDTO(name, "BMS", "AVAILABLE", 100_000, 0,
+                new Coordinates(latitude, longitude)));
+    }
+
+    /**
+     * Helper method to create pending orders
+     */
+    private void createOrders(int count) {
+        for (int i = 0; i < count; i++) {
+            orderService.createOrder(new OrderRequestDTO((long) i, "M",
+                    new Coordinates(36.0 + (i % 50) * 0.1, -7.0 + (i % 40) * 0.1)));
+        }
+    }
+}
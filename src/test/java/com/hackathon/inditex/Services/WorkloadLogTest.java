@@ -0,0 +1,98 @@
+package com.hackathon.inditex.Services;
+
+import com.hackathon.inditex.DTO.CenterDTO;
+import com.hackathon.inditex.DTO.OrderRequestDTO;
+import com.hackathon.inditex.DTO.ProcessedOrderDTO;
+import com.hackathon.inditex.Entities.Coordinates;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WorkloadLogTest {
+
+    @Test
+    void readsBackEveryRecordType() throws IOException {
+        List<WorkloadLog.Entry> written = new ArrayList<>();
+        written.add(centerEntry(WorkloadLog.SNAPSHOT_CENTER, 1,
+                new CenterDTO("Snapshot", "BMS", "AVAILABLE", 10, 12, new Coordinates(40.4, -3.7))));
+        written.add(orderEntry(WorkloadLog.SNAPSHOT_ORDER, 2, new OrderRequestDTO(7L, "M", new Coordinates(41.3, 2.1))));
+        written.add(centerEntry(WorkloadLog.CREATE_CENTER, 3,
+                new CenterDTO("Created", "S", "OUT_OF_SERVICE", 5, 0, new Coordinates(-33.9, 151.2))));
+        // Partial update: absent fields must stay absent
+        written.add(centerEntry(WorkloadLog.UPDATE_CENTER, 3, new CenterDTO(null, null, "AVAILABLE", null, 2, null)));
+        written.add(orderEntry(WorkloadLog.CREATE_ORDER, 4, new OrderRequestDTO(null, "B", null)));
+        written.add(assignationEntry(5, List.of(
+                new ProcessedOrderDTO(12.5, 2L, "Snapshot", null, "ASSIGNED"),
+                new ProcessedOrderDTO(null, 4L, null, "All centers are at maximum capacity.", "PENDING"))));
+        WorkloadLog.Entry deletion = new WorkloadLog.Entry();
+        deletion.type = WorkloadLog.DELETE_CENTER;
+        deletion.offsetNanos = 6;
+        deletion.id = 3;
+        written.add(deletion);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WorkloadLog.Writer writer = new WorkloadLog.Writer(new DataOutputStream(bytes));
+        writer.writeHeader(123456789L);
+        for (WorkloadLog.Entry entry : written) {
+            writer.write(entry);
+        }
+        writer.flush();
+
+        WorkloadLog.Reader reader = new WorkloadLog.Reader(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(123456789L, reader.readHeader());
+        for (WorkloadLog.Entry expected : written) {
+            WorkloadLog.Entry actual = reader.next();
+            assertEquals(expected.type, actual.type);
+            assertEquals(expected.offsetNanos, actual.offsetNanos);
+            assertEquals(expected.id, actual.id);
+            assertEquals(expected.center, actual.center);
+            assertEquals(expected.order, actual.order);
+            assertEquals(expected.outcome, actual.outcome);
+        }
+        assertNull(reader.next());
+    }
+
+    @Test
+    void rejectsStreamsThatAreNotWorkloadLogs() {
+        WorkloadLog.Reader reader = new WorkloadLog.Reader(
+                new DataInputStream(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 })));
+        assertThrows(IOException.class, reader::readHeader);
+    }
+
+    private WorkloadLog.Entry centerEntry(byte type, long id, CenterDTO center) {
+        WorkloadLog.Entry entry = new WorkloadLog.Entry();
+        entry.type = type;
+        entry.offsetNanos = id * 1000;
+        entry.id = id;
+        entry.center = center;
+        return entry;
+    }
+
+    private WorkloadLog.Entry orderEntry(byte type, long id, OrderRequestDTO order) {
+        WorkloadLog.Entry entry = new WorkloadLog.Entry();
+        entry.type = type;
+        entry.offsetNanos = id * 1000;
+        entry.id = id;
+        entry.order = order;
+        return entry;
+    }
+
+    private WorkloadLog.Entry assignationEntry(long offsetNanos, List<ProcessedOrderDTO> outcome) {
+        WorkloadLog.Entry entry = new WorkloadLog.Entry();
+        entry.type = WorkloadLog.ASSIGN_ORDERS;
+        entry.offsetNanos = offsetNanos;
+        entry.outcome = outcome;
+        return entry;
+    }
+}